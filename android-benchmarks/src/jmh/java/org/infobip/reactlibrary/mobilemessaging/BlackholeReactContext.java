@@ -0,0 +1,35 @@
+//
+//  BlackholeReactContext.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * React context whose JS side consumes emitted events, so emitting can't be optimized away.
+ */
+public class BlackholeReactContext extends ReactContext {
+    private final DeviceEventManagerModule.RCTDeviceEventEmitter emitter;
+
+    public BlackholeReactContext(Blackhole blackhole) {
+        emitter = (eventName, data) -> {
+            blackhole.consume(eventName);
+            blackhole.consume(data);
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JavaScriptModule> T getJSModule(Class<T> moduleInterface) {
+        return (T) emitter;
+    }
+}
@@ -0,0 +1,111 @@
+//
+//  CacheManagerBenchmark.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.content.Context;
+import android.os.Bundle;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving events from several broadcast threads while JS drains the cache, with the journal on disk.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CacheManagerBenchmark {
+
+    @Param({Payloads.SMALL, Payloads.LARGE})
+    public String payload;
+
+    private File directory;
+    private Bundle message;
+    private JSONObject installation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("event-journal").toFile();
+        final File filesDir = directory;
+        CacheManager.init(new Context() {
+            @Override
+            public File getFilesDir() {
+                return filesDir;
+            }
+
+            @Override
+            public Context getApplicationContext() {
+                return this;
+            }
+        });
+        message = Payloads.message(payload, 0);
+        installation = Payloads.customPayload(payload);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        CacheManager.clearCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CacheManager.clearCache();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    @Group("messages")
+    @GroupThreads(3)
+    public void saveMessage() {
+        CacheManager.saveEvent(ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED, message, null, null);
+    }
+
+    @Benchmark
+    @Group("messages")
+    @GroupThreads(1)
+    public CacheManager.Event[] loadMessages() {
+        return CacheManager.loadEvents(ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED);
+    }
+
+    @Benchmark
+    @Group("coalesced")
+    @GroupThreads(3)
+    public void saveInstallation() {
+        CacheManager.saveEvent(ReactNativeMobileMessagingService.EVENT_INSTALLATION_UPDATED, installation, null, null);
+    }
+
+    @Benchmark
+    @Group("coalesced")
+    @GroupThreads(1)
+    public CacheManager.Event[] loadInstallations() {
+        return CacheManager.loadEvents(ReactNativeMobileMessagingService.EVENT_INSTALLATION_UPDATED);
+    }
+}
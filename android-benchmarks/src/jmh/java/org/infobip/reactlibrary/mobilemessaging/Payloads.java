@@ -0,0 +1,90 @@
+//
+//  Payloads.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.os.Bundle;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Message payloads the benchmarks run on: a typical push message with a few custom keys,
+ * and the same message carrying a 50 KB custom payload, like a product catalog or an order.
+ */
+public final class Payloads {
+    public static final String SMALL = "small";
+    public static final String LARGE = "large";
+
+    private static final int LARGE_CUSTOM_PAYLOAD_BYTES = 50 * 1024;
+
+    private Payloads() {
+    }
+
+    public static Bundle message(String size, int index) {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "msg-" + index + "-b8f1c2d3-4e5f-6a7b-8c9d-0e1f2a3b4c5d");
+        bundle.putString("title", "Your order has shipped");
+        bundle.putString("body", "Order #" + (100000 + index) + " is on its way and should arrive by Friday. Tap to track the delivery.");
+        bundle.putString("sound", "default");
+        bundle.putBoolean("vibrate", true);
+        bundle.putString("category", "orderUpdates");
+        bundle.putString("from", "123456789012");
+        bundle.putLong("receivedTimestamp", 1735689600000L + index);
+        bundle.putString("contentUrl", "https://cdn.example.com/images/orders/" + index + ".jpg");
+        bundle.putString("deeplink", "myapp://orders/" + (100000 + index));
+        bundle.putString("customPayload", customPayload(size).toString());
+        return bundle;
+    }
+
+    public static JSONObject messageJson(String size) {
+        return org.infobip.mobile.messaging.plugins.MessageJson.bundleToJSON(message(size, 0));
+    }
+
+    public static JSONObject customPayload(String size) {
+        try {
+            JSONObject payload = new JSONObject()
+                    .put("orderId", "100000")
+                    .put("status", "shipped")
+                    .put("itemCount", 3)
+                    .put("total", 129.97)
+                    .put("express", false)
+                    .put("updatedAt", 1735689600000L);
+            if (LARGE.equals(size)) {
+                JSONArray items = new JSONArray();
+                payload.put("items", items);
+                int length = payload.toString().length();
+                for (int i = 0; length < LARGE_CUSTOM_PAYLOAD_BYTES; i++) {
+                    JSONObject item = item(i);
+                    items.put(item);
+                    length += item.toString().length() + 1;
+                }
+            }
+            return payload;
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JSONObject item(int index) throws JSONException {
+        return new JSONObject()
+                .put("id", index)
+                .put("sku", "SKU-" + (10000 + index))
+                .put("name", "Product " + index + " with a reasonably descriptive name")
+                .put("price", 9.99 + index)
+                .put("quantity", index % 5)
+                .put("available", index % 2 == 0)
+                .put("addedAt", 1735689600000L + index * 1000L)
+                .put("tags", new JSONArray().put("sale").put("new").put("summer"))
+                .put("dimensions", new JSONObject()
+                        .put("width", 10.5)
+                        .put("height", 20.25)
+                        .put("depth", 3));
+    }
+}
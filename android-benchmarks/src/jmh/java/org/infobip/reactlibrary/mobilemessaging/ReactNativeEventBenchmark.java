@@ -0,0 +1,81 @@
+//
+//  ReactNativeEventBenchmark.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.infobip.reactlibrary.mobilemessaging.datamappers.MessageMapper;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packing of message event arguments, from each form a message event can have, and emitting the event to JS.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReactNativeEventBenchmark {
+
+    @Param({Payloads.SMALL, Payloads.LARGE})
+    public String payload;
+
+    private Bundle message;
+    private JSONObject json;
+    private CacheManager.Event marshalledEvent;
+    private CacheManager.Event journalEvent;
+    private ReactContext reactContext;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        message = Payloads.message(payload, 0);
+        json = MessageJson.bundleToJSON(message);
+
+        marshalledEvent = new CacheManager.Event(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED, null, "actionId", null);
+        marshalledEvent.payload = CacheManager.marshall(message);
+
+        journalEvent = new CacheManager.Event(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED, null, "actionId", null);
+        journalEvent.jsonText = json.toString();
+
+        reactContext = new BlackholeReactContext(blackhole);
+    }
+
+    @Benchmark
+    public WritableArray argumentsFromJson() {
+        return ReactNativeEvent.toArguments(json, "actionId", null);
+    }
+
+    @Benchmark
+    public WritableArray argumentsFromMarshalledBundle() {
+        return ReactNativeEvent.toArguments(marshalledEvent);
+    }
+
+    @Benchmark
+    public WritableArray argumentsFromJournalText() {
+        return ReactNativeEvent.toArguments(journalEvent);
+    }
+
+    @Benchmark
+    public void sendMessage() {
+        ReactNativeEvent.sendMessage(ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED, reactContext, MessageMapper.bundleToMap(message));
+    }
+}
@@ -0,0 +1,69 @@
+//
+//  ReactNativeJsonBenchmark.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging.datamappers;
+
+import com.facebook.react.bridge.WritableMap;
+
+import org.infobip.reactlibrary.mobilemessaging.Payloads;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions of a message between org.json and React Native types, in both directions, and from JSON text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReactNativeJsonBenchmark {
+
+    @Param({Payloads.SMALL, Payloads.LARGE})
+    public String payload;
+
+    private JSONObject json;
+    private String text;
+    private WritableMap map;
+
+    @Setup
+    public void setUp() throws JSONException {
+        json = Payloads.messageJson(payload);
+        text = json.toString();
+        map = ReactNativeJson.convertJsonToMap(json);
+    }
+
+    @Benchmark
+    public WritableMap jsonToMap() throws JSONException {
+        return ReactNativeJson.convertJsonToMap(json);
+    }
+
+    @Benchmark
+    public JSONObject mapToJson() throws JSONException {
+        return ReactNativeJson.convertMapToJson(map);
+    }
+
+    @Benchmark
+    public WritableMap textToMapThroughJSONObject() throws JSONException {
+        return ReactNativeJson.convertJsonToMap(new JSONObject(text));
+    }
+
+    @Benchmark
+    public WritableMap textToMapStreaming() throws IOException {
+        return ReactNativeJsonReader.readMap(text);
+    }
+}
@@ -0,0 +1,17 @@
+//
+//  Context.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.content;
+
+import java.io.File;
+
+public abstract class Context {
+    public abstract File getFilesDir();
+
+    public abstract Context getApplicationContext();
+}
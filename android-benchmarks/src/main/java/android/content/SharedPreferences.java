@@ -0,0 +1,21 @@
+//
+//  SharedPreferences.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.content;
+
+public interface SharedPreferences {
+    boolean contains(String key);
+
+    Editor edit();
+
+    interface Editor {
+        Editor remove(String key);
+
+        void apply();
+    }
+}
@@ -0,0 +1,15 @@
+//
+//  Build.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.os;
+
+public class Build {
+    public static class VERSION {
+        public static final int SDK_INT = 34;
+    }
+}
@@ -0,0 +1,29 @@
+//
+//  Handler.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.os;
+
+/**
+ * Benchmarks don't run a looper, posted runnables are dropped.
+ */
+public class Handler {
+
+    public Handler(Looper looper) {
+    }
+
+    public boolean post(Runnable runnable) {
+        return true;
+    }
+
+    public boolean postDelayed(Runnable runnable, long delayMillis) {
+        return true;
+    }
+
+    public void removeCallbacks(Runnable runnable) {
+    }
+}
@@ -0,0 +1,21 @@
+//
+//  Looper.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.os;
+
+public class Looper {
+    private static final Looper mainLooper = new Looper();
+
+    public static Looper getMainLooper() {
+        return mainLooper;
+    }
+
+    public static Looper myLooper() {
+        return null;
+    }
+}
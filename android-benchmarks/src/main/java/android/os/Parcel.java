@@ -0,0 +1,116 @@
+//
+//  Parcel.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.os;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes bundles the way the platform does: type tag per value, strings as UTF-16.
+ */
+public class Parcel {
+    private static final byte VAL_STRING = 0;
+    private static final byte VAL_LONG = 6;
+    private static final byte VAL_BOOLEAN = 9;
+
+    private byte[] data = new byte[0];
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        data = new byte[0];
+    }
+
+    void writeValues(Map<String, Object> values) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(values.size());
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                writeString(out, entry.getKey());
+                Object value = entry.getValue();
+                if (value instanceof Long) {
+                    out.writeByte(VAL_LONG);
+                    out.writeLong((Long) value);
+                } else if (value instanceof Boolean) {
+                    out.writeByte(VAL_BOOLEAN);
+                    out.writeInt((Boolean) value ? 1 : 0);
+                } else {
+                    out.writeByte(VAL_STRING);
+                    writeString(out, (String) value);
+                }
+            }
+            out.flush();
+            data = bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public byte[] marshall() {
+        return data;
+    }
+
+    public void unmarshall(byte[] bytes, int offset, int length) {
+        data = Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    public void setDataPosition(int position) {
+    }
+
+    public Bundle readBundle(ClassLoader classLoader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            Bundle bundle = new Bundle();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String key = readString(in);
+                switch (in.readByte()) {
+                    case VAL_LONG:
+                        bundle.values.put(key, in.readLong());
+                        break;
+                    case VAL_BOOLEAN:
+                        bundle.values.put(key, in.readInt() != 0);
+                        break;
+                    default:
+                        bundle.values.put(key, readString(in));
+                }
+            }
+            return bundle;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length());
+        out.writeChars(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = in.readChar();
+        }
+        return new String(chars);
+    }
+}
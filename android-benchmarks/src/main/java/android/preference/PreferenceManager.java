@@ -0,0 +1,19 @@
+//
+//  PreferenceManager.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package android.preference;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+public class PreferenceManager {
+
+    public static SharedPreferences getDefaultSharedPreferences(Context context) {
+        throw new UnsupportedOperationException("Shared preferences are not available in benchmarks");
+    }
+}
@@ -0,0 +1,12 @@
+//
+//  JavaScriptModule.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package com.facebook.react.bridge;
+
+public interface JavaScriptModule {
+}
@@ -0,0 +1,28 @@
+//
+//  ReactContext.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package com.facebook.react.bridge;
+
+/**
+ * Runs JS queue work right away on the calling thread, JS modules are provided by subclasses.
+ */
+public class ReactContext {
+
+    public boolean isOnJSQueueThread() {
+        return false;
+    }
+
+    public boolean runOnJSQueueThread(Runnable runnable) {
+        runnable.run();
+        return true;
+    }
+
+    public <T extends JavaScriptModule> T getJSModule(Class<T> moduleInterface) {
+        throw new UnsupportedOperationException("No JS module " + moduleInterface.getName());
+    }
+}
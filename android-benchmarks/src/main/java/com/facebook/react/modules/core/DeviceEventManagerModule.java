@@ -0,0 +1,18 @@
+//
+//  DeviceEventManagerModule.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package com.facebook.react.modules.core;
+
+import com.facebook.react.bridge.JavaScriptModule;
+
+public class DeviceEventManagerModule {
+
+    public interface RCTDeviceEventEmitter extends JavaScriptModule {
+        void emit(String eventName, Object data);
+    }
+}
@@ -0,0 +1,31 @@
+//
+//  FirebaseOptions.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package com.google.firebase;
+
+public final class FirebaseOptions {
+    private String apiKey;
+    private String applicationId;
+    private String databaseUrl;
+    private String gaTrackingId;
+    private String gcmSenderId;
+    private String storageBucket;
+    private String projectId;
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+}
@@ -0,0 +1,147 @@
+//
+//  Message.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.mobile.messaging;
+
+import android.os.Bundle;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The SDK message with the fields the plugin maps, read from a flat bundle.
+ * Custom payload is kept in the bundle as JSON text, the way the SDK keeps it.
+ */
+public class Message {
+    private String messageId;
+    private String title;
+    private String body;
+    private String sound;
+    private boolean vibrate;
+    private String icon;
+    private boolean silent;
+    private String category;
+    private String from;
+    private long receivedTimestamp;
+    private long seenTimestamp;
+    private JSONObject customPayload;
+    private String contentUrl;
+    private boolean chatMessage;
+    private String browserUrl;
+    private String webViewUrl;
+    private String deeplink;
+    private String inAppOpenTitle;
+    private String inAppDismissTitle;
+
+    public static Message createFrom(Bundle bundle) {
+        Message message = new Message();
+        message.messageId = bundle.getString("messageId");
+        message.title = bundle.getString("title");
+        message.body = bundle.getString("body");
+        message.sound = bundle.getString("sound");
+        message.vibrate = bundle.getBoolean("vibrate");
+        message.icon = bundle.getString("icon");
+        message.silent = bundle.getBoolean("silent");
+        message.category = bundle.getString("category");
+        message.from = bundle.getString("from");
+        message.receivedTimestamp = bundle.getLong("receivedTimestamp");
+        message.seenTimestamp = bundle.getLong("seenTimestamp");
+        message.contentUrl = bundle.getString("contentUrl");
+        message.chatMessage = bundle.getBoolean("chat");
+        message.browserUrl = bundle.getString("browserUrl");
+        message.webViewUrl = bundle.getString("webViewUrl");
+        message.deeplink = bundle.getString("deeplink");
+        message.inAppOpenTitle = bundle.getString("inAppOpenTitle");
+        message.inAppDismissTitle = bundle.getString("inAppDismissTitle");
+        String customPayload = bundle.getString("customPayload");
+        if (customPayload != null) {
+            try {
+                message.customPayload = new JSONObject(customPayload);
+            } catch (JSONException e) {
+                message.customPayload = null;
+            }
+        }
+        return message;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getSound() {
+        return sound;
+    }
+
+    public boolean isVibrate() {
+        return vibrate;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    public boolean isSilent() {
+        return silent;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public long getReceivedTimestamp() {
+        return receivedTimestamp;
+    }
+
+    public long getSeenTimestamp() {
+        return seenTimestamp;
+    }
+
+    public JSONObject getCustomPayload() {
+        return customPayload;
+    }
+
+    public String getContentUrl() {
+        return contentUrl;
+    }
+
+    public boolean isChatMessage() {
+        return chatMessage;
+    }
+
+    public String getBrowserUrl() {
+        return browserUrl;
+    }
+
+    public String getWebViewUrl() {
+        return webViewUrl;
+    }
+
+    public String getDeeplink() {
+        return deeplink;
+    }
+
+    public String getInAppOpenTitle() {
+        return inAppOpenTitle;
+    }
+
+    public String getInAppDismissTitle() {
+        return inAppDismissTitle;
+    }
+}
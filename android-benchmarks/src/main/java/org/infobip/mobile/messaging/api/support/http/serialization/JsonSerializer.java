@@ -0,0 +1,23 @@
+//
+//  JsonSerializer.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.mobile.messaging.api.support.http.serialization;
+
+import com.google.gson.Gson;
+
+public class JsonSerializer {
+    private final Gson gson = new Gson();
+
+    public <T> T deserialize(String s, Class<T> type) {
+        return gson.fromJson(s, type);
+    }
+
+    public String serialize(Object o) {
+        return gson.toJson(o);
+    }
+}
@@ -0,0 +1,56 @@
+//
+//  MessageJson.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.mobile.messaging.plugins;
+
+import android.os.Bundle;
+
+import org.infobip.mobile.messaging.Message;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Same keys as the SDK's plugin mapper, which is what {@code MessageMapper} mirrors.
+ */
+public class MessageJson {
+
+    public static JSONObject bundleToJSON(Bundle bundle) {
+        if (bundle == null) {
+            return null;
+        }
+        return toJSON(Message.createFrom(bundle));
+    }
+
+    public static JSONObject toJSON(Message message) {
+        try {
+            return new JSONObject()
+                    .putOpt("messageId", message.getMessageId())
+                    .putOpt("title", message.getTitle())
+                    .putOpt("body", message.getBody())
+                    .putOpt("sound", message.getSound())
+                    .put("vibrate", message.isVibrate())
+                    .putOpt("icon", message.getIcon())
+                    .put("silent", message.isSilent())
+                    .putOpt("category", message.getCategory())
+                    .putOpt("from", message.getFrom())
+                    .put("receivedTimestamp", message.getReceivedTimestamp())
+                    .putOpt("customPayload", message.getCustomPayload())
+                    .putOpt("contentUrl", message.getContentUrl())
+                    .put("seen", message.getSeenTimestamp() != 0)
+                    .put("seenDate", message.getSeenTimestamp())
+                    .put("chat", message.isChatMessage())
+                    .putOpt("browserUrl", message.getBrowserUrl())
+                    .putOpt("webViewUrl", message.getWebViewUrl())
+                    .putOpt("deeplink", message.getDeeplink())
+                    .putOpt("inAppOpenTitle", message.getInAppOpenTitle())
+                    .putOpt("inAppDismissTitle", message.getInAppDismissTitle());
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+//
+//  RNMMLogger.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+/**
+ * Logging is dropped, so that benchmarks measure the code around it.
+ */
+public class RNMMLogger {
+
+    public static void v(String tag, String message) {
+    }
+
+    public static void v(String tag, String message, Throwable throwable) {
+    }
+
+    public static void d(String tag, String message) {
+    }
+
+    public static void d(String tag, String message, Throwable throwable) {
+    }
+
+    public static void i(String tag, String message) {
+    }
+
+    public static void i(String tag, String message, Throwable throwable) {
+    }
+
+    public static void w(String tag, String message) {
+    }
+
+    public static void w(String tag, String message, Throwable throwable) {
+    }
+
+    public static void e(String tag, String message) {
+    }
+
+    public static void e(String tag, String message, Throwable throwable) {
+    }
+}
@@ -0,0 +1,47 @@
+//
+//  ReactNativeMobileMessagingService.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+/**
+ * Event names of the service, which itself needs the whole SDK and isn't benchmarked.
+ */
+public class ReactNativeMobileMessagingService {
+    public static final String EVENT_TOKEN_RECEIVED = "tokenReceived";
+    public static final String EVENT_REGISTRATION_UPDATED = "registrationUpdated";
+    public static final String EVENT_INSTALLATION_UPDATED = "installationUpdated";
+    public static final String EVENT_USER_UPDATED = "userUpdated";
+    public static final String EVENT_PERSONALIZED = "personalized";
+    public static final String EVENT_DEPERSONALIZED = "depersonalized";
+
+    public static final String EVENT_NOTIFICATION_TAPPED = "notificationTapped";
+    public static final String EVENT_NOTIFICATION_ACTION_TAPPED = "actionTapped";
+    public static final String EVENT_MESSAGE_RECEIVED = "messageReceived";
+
+    public static final String EVENT_PLATFORM_NATIVE_LOG_SENT = "internal.platformNativeLogSent";
+    public static final String EVENT_EVENTS_BATCH = "internal.eventsBatch";
+
+    public static final String EVENT_INAPPCHAT_UNREAD_MESSAGES_COUNT_UPDATED = "inAppChat.unreadMessageCounterUpdated";
+
+    private static boolean jsSupportsEventBatches = false;
+
+    public static boolean getJsSupportsEventBatches() {
+        return jsSupportsEventBatches;
+    }
+
+    public static void setJsSupportsEventBatches(boolean supported) {
+        jsSupportsEventBatches = supported;
+    }
+
+    public static class MessageStoreAdapter {
+        public static final String EVENT_MESSAGESTORAGE_START = "messageStorage.start";
+        public static final String EVENT_MESSAGESTORAGE_SAVE = "messageStorage.save";
+        public static final String EVENT_MESSAGESTORAGE_FIND_ALL = "messageStorage.findAll";
+        public static final String EVENT_MESSAGESTORAGE_COUNT = "messageStorage.count";
+    }
+}
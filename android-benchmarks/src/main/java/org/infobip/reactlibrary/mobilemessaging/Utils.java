@@ -0,0 +1,13 @@
+//
+//  Utils.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+public class Utils {
+    public static final String TAG = "RNMobileMessaging";
+}
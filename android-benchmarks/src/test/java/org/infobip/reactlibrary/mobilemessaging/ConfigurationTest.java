@@ -0,0 +1,203 @@
+//
+//  ConfigurationTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.google.gson.Gson;
+
+import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
+import org.infobip.reactlibrary.mobilemessaging.datamappers.ReactNativeJson;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+/**
+ * Compares {@link Configuration#resolveConfiguration} with the way `init` deserialized configuration before,
+ * from arguments converted to JSON.
+ */
+public class ConfigurationTest {
+
+    @Test
+    public void readsFullConfigurationSameAsJson() throws JSONException {
+        assertSameAsJson("{" +
+                "'applicationCode': 'code'," +
+                "'inAppChatEnabled': true," +
+                "'fullFeaturedInAppsEnabled': false," +
+                "'messageStorage': {'custom': true}," +
+                "'defaultMessageStorage': true," +
+                "'logging': true," +
+                "'reactNativePluginVersion': '13.0.0'," +
+                "'privacySettings': {'userDataPersistingDisabled': true, 'carrierInfoSendingDisabled': true}," +
+                "'notificationCategories': [{'identifier': 'category', 'actions': [" +
+                "    {'identifier': 'reply', 'title': 'Reply', 'foreground': true, 'textInputPlaceholder': 'Type'}," +
+                "    {'identifier': 'mark', 'title': 'Mark', 'moRequired': true, 'icon': 'ic_mark'}]}]," +
+                "'webRTCUI': {'configurationId': 'webrtc'}," +
+                "'userDataJwt': 'jwt'," +
+                "'backendBaseURL': 'https://example.com'," +
+                "'android': {" +
+                "    'notificationIcon': 'ic_notification'," +
+                "    'notificationChannelId': 'channel'," +
+                "    'notificationChannelName': 'Channel'," +
+                "    'notificationSound': 'sound'," +
+                "    'multipleNotifications': true," +
+                "    'notificationAccentColor': '#ff0000'," +
+                "    'firebaseOptions': {'apiKey': 'key', 'applicationId': 'app', 'projectId': 'project', 'gcmSenderId': '123'}," +
+                "    'eventCache': {'maxSize': 100, 'maxBytes': 65536, 'events': {" +
+                "        'messageReceived': {'priority': 'high', 'quota': 10, 'ttlSeconds': 3600, 'coalescing': 'keepFirst'}}}," +
+                "    'eventDispatch': {'batching': true, 'flushIntervalMillis': 16, 'urgentEvents': ['notificationTapped']," +
+                "        'queueCapacity': 50, 'blockTimeoutMillis': 100, 'overflow': {'messageReceived': 'dropOldest'}}," +
+                "    'messageStorageMirror': {'maxMessages': 20, 'maxBytes': 4096}," +
+                "    'messageStorageSaveBatching': {'windowMillis': 50, 'maxBatchSize': 25}," +
+                "    'messageSearch': {'customPayloadFields': ['orderId', 'sku']}," +
+                "    'messageStorageRetention': {'maxMessages': 1000, 'maxAgeSeconds': 86400, 'maxBytes': 1048576}," +
+                "    'seenReporting': {'debounceMillis': 500, 'maxBatchSize': 10}" +
+                "}}");
+    }
+
+    @Test
+    public void readsMinimalConfigurationSameAsJson() throws JSONException {
+        assertSameAsJson("{'applicationCode': 'code'}");
+        assertSameAsJson("{'applicationCode': 'code', 'android': {}}");
+    }
+
+    @Test
+    public void readsNullsSameAsJson() throws JSONException {
+        assertSameAsJson("{" +
+                "'applicationCode': 'code'," +
+                "'inAppChatEnabled': null," +
+                "'messageStorage': null," +
+                "'reactNativePluginVersion': null," +
+                "'privacySettings': null," +
+                "'notificationCategories': [null, {'identifier': null, 'actions': [null, {'title': null}]}]," +
+                "'webRTCUI': null," +
+                "'android': {" +
+                "    'notificationIcon': null," +
+                "    'multipleNotifications': null," +
+                "    'firebaseOptions': null," +
+                "    'eventCache': {'maxSize': null, 'events': {'messageReceived': null}}," +
+                "    'eventDispatch': {'urgentEvents': ['notificationTapped', null], 'overflow': null}," +
+                "    'messageSearch': {'customPayloadFields': null}" +
+                "}}");
+        assertSameAsJson("{'applicationCode': 'code', 'android': null, 'notificationCategories': null}");
+    }
+
+    @Test
+    public void readsFirebaseOptionsWithoutApiKeySameAsJson() throws JSONException {
+        Configuration configuration = assertSameAsJson("{'applicationCode': 'code', 'android': {'firebaseOptions': {'projectId': 'project'}}}");
+
+        assertNull(configuration.android.firebaseOptions.getApiKey());
+        assertEquals("project", configuration.android.firebaseOptions.getProjectId());
+    }
+
+    @Test
+    public void coercesValuesSameAsJson() throws JSONException {
+        assertSameAsJson("{" +
+                "'applicationCode': 12345," +
+                "'logging': 'true'," +
+                "'userDataJwt': 1.5," +
+                "'backendBaseURL': false," +
+                "'android': {" +
+                "    'multipleNotifications': 'yes'," +
+                "    'eventCache': {'maxSize': '100', 'maxBytes': 65536.0}," +
+                "    'eventDispatch': {'urgentEvents': ['notificationTapped', 7, true]}" +
+                "}}");
+    }
+
+    @Test
+    public void rejectsValuesOfWrongTypeSameAsJson() throws JSONException {
+        assertBothFail("{'applicationCode': 'code', 'android': 'android'}");
+        assertBothFail("{'applicationCode': 'code', 'privacySettings': []}");
+        assertBothFail("{'applicationCode': 'code', 'notificationCategories': ['category']}");
+        assertBothFail("{'applicationCode': 'code', 'android': {'eventCache': {'maxSize': 1.5}}}");
+        assertBothFail("{'applicationCode': 'code', 'android': {'eventCache': {'maxSize': 'many'}}}");
+        assertBothFail("{'applicationCode': 'code', 'android': {'eventCache': {'maxBytes': 1e20}}}");
+        assertBothFail("{'applicationCode': 'code', 'android': {'eventDispatch': {'urgentEvents': [{}]}}}");
+    }
+
+    private static Configuration assertSameAsJson(String json) throws JSONException {
+        ReadableMap args = toReadableMap(new JSONObject(json));
+        Configuration expected = fromJson(args);
+        Configuration actual = Configuration.resolveConfiguration(args);
+
+        Gson gson = new Gson();
+        assertEquals(gson.toJsonTree(expected), gson.toJsonTree(actual));
+        return actual;
+    }
+
+    private static void assertBothFail(String json) throws JSONException {
+        ReadableMap args = toReadableMap(new JSONObject(json));
+        try {
+            fromJson(args);
+            fail("JSON deserialization accepted " + json);
+        } catch (RuntimeException ignored) {
+        }
+        try {
+            Configuration.resolveConfiguration(args);
+            fail("Configuration accepted " + json);
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private static Configuration fromJson(ReadableMap args) throws JSONException {
+        return new JsonSerializer().deserialize(ReactNativeJson.convertMapToJson(args).toString(), Configuration.class);
+    }
+
+    private static ReadableMap toReadableMap(JSONObject object) throws JSONException {
+        WritableNativeMap map = new WritableNativeMap();
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = object.get(key);
+            if (value == JSONObject.NULL) {
+                map.putNull(key);
+            } else if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Number) {
+                map.putDouble(key, ((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                map.putString(key, (String) value);
+            } else if (value instanceof JSONObject) {
+                map.putMap(key, toReadableMap((JSONObject) value));
+            } else {
+                map.putArray(key, toReadableArray((JSONArray) value));
+            }
+        }
+        return map;
+    }
+
+    private static WritableNativeArray toReadableArray(JSONArray array) throws JSONException {
+        WritableNativeArray readableArray = new WritableNativeArray();
+        for (int i = 0; i < array.length(); i++) {
+            Object value = array.get(i);
+            if (value == JSONObject.NULL) {
+                readableArray.pushNull();
+            } else if (value instanceof Boolean) {
+                readableArray.pushBoolean((Boolean) value);
+            } else if (value instanceof Number) {
+                readableArray.pushDouble(((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                readableArray.pushString((String) value);
+            } else if (value instanceof JSONObject) {
+                readableArray.pushMap(toReadableMap((JSONObject) value));
+            } else {
+                readableArray.pushArray(toReadableArray((JSONArray) value));
+            }
+        }
+        return readableArray;
+    }
+}
@@ -0,0 +1,80 @@
+//
+//  EventDispatcherTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class EventDispatcherTest {
+    private static final String MESSAGE_RECEIVED = ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED;
+    private static final String NOTIFICATION_TAPPED = ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED;
+    private static final String EVENTS_BATCH = ReactNativeMobileMessagingService.EVENT_EVENTS_BATCH;
+
+    private RecordingReactContext reactContext;
+
+    @Before
+    public void setUp() {
+        reactContext = new RecordingReactContext();
+        ReactNativeMobileMessagingService.setJsSupportsEventBatches(true);
+        Configuration.EventDispatchConfiguration configuration = new Configuration().new EventDispatchConfiguration();
+        configuration.batching = true;
+        EventDispatcher.configure(configuration);
+    }
+
+    @After
+    public void tearDown() {
+        EventDispatcher.configure(null);
+        OutboundEventQueue.configure(null);
+        ReactNativeMobileMessagingService.setJsSupportsEventBatches(false);
+    }
+
+    @Test
+    public void flushedBatchIsBoundedByOutboundQueue() {
+        OutboundEventQueueTest.configure(2, null);
+
+        EventDispatcher.emit(MESSAGE_RECEIVED, reactContext, payload("m1"));
+        EventDispatcher.emit(MESSAGE_RECEIVED, reactContext, payload("m2"));
+        EventDispatcher.emit(MESSAGE_RECEIVED, reactContext, payload("m3"));
+        assertTrue(reactContext.names.isEmpty());
+        EventDispatcher.flush();
+        reactContext.runJSQueue();
+
+        assertEquals(Arrays.asList(EVENTS_BATCH), reactContext.names);
+        ReadableArray batch = (ReadableArray) reactContext.payloads.get(0);
+        assertEquals(2, batch.size());
+        assertEquals("m2", batch.getArray(0).getMap(1).getString("value"));
+        assertEquals("m3", batch.getArray(1).getMap(1).getString("value"));
+    }
+
+    @Test
+    public void urgentEventFlushesBufferedEventsFirst() {
+        EventDispatcher.emit(MESSAGE_RECEIVED, reactContext, payload("m1"));
+        EventDispatcher.emit(MESSAGE_RECEIVED, reactContext, payload("m2"));
+        EventDispatcher.emit(NOTIFICATION_TAPPED, reactContext, payload("t1"));
+
+        assertEquals(Arrays.asList(EVENTS_BATCH, NOTIFICATION_TAPPED), reactContext.names);
+        assertEquals(2, ((ReadableArray) reactContext.payloads.get(0)).size());
+    }
+
+    private static WritableMap payload(String value) {
+        WritableMap map = new WritableNativeMap();
+        map.putString("value", value);
+        return map;
+    }
+}
@@ -0,0 +1,147 @@
+//
+//  OutboundEventQueueTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OutboundEventQueueTest {
+    private static final String MESSAGE_RECEIVED = ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED;
+    private static final String MESSAGE_STORAGE_SAVE = ReactNativeMobileMessagingService.MessageStoreAdapter.EVENT_MESSAGESTORAGE_SAVE;
+    private static final String EVENTS_BATCH = ReactNativeMobileMessagingService.EVENT_EVENTS_BATCH;
+
+    private RecordingReactContext reactContext;
+
+    @Before
+    public void setUp() {
+        reactContext = new RecordingReactContext();
+    }
+
+    @After
+    public void tearDown() {
+        OutboundEventQueue.configure(null);
+    }
+
+    @Test
+    public void batchedEventsCountAgainstCapacityAndDropOldest() throws JSONException {
+        configure(3, null);
+        // Counters are kept for the lifetime of the process
+        long droppedOldest = OutboundEventQueue.getStats().getLong("droppedOldest");
+
+        offerBatch(MESSAGE_RECEIVED, "m1", "m2", "m3", "m4", "m5");
+        reactContext.runJSQueue();
+
+        assertEquals(Collections.singletonList(EVENTS_BATCH), reactContext.names);
+        assertBatch(reactContext.payloads.get(0), "m3", "m4", "m5");
+        assertEquals(droppedOldest + 2, OutboundEventQueue.getStats().getLong("droppedOldest"));
+    }
+
+    @Test
+    public void overflowPolicyOfTypeAppliesInsideBatch() {
+        configure(2, Collections.singletonMap(MESSAGE_RECEIVED, "dropNewest"));
+
+        offerBatch(MESSAGE_RECEIVED, "m1", "m2", "m3");
+        reactContext.runJSQueue();
+
+        assertBatch(reactContext.payloads.get(0), "m1", "m2");
+    }
+
+    @Test
+    public void eventsWhichJSHasToSeeAreNeverDroppedFromBatch() {
+        configure(1, null);
+
+        OutboundEventQueue.offerBatch(Arrays.asList(MESSAGE_RECEIVED, MESSAGE_STORAGE_SAVE, MESSAGE_RECEIVED),
+                Arrays.asList(payload("m1"), payload("s1"), payload("m2")), reactContext);
+        reactContext.runJSQueue();
+
+        ReadableArray batch = (ReadableArray) reactContext.payloads.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(MESSAGE_STORAGE_SAVE, batch.getArray(0).getString(0));
+        assertEquals("s1", batch.getArray(0).getMap(1).getString("value"));
+        assertEquals("m2", batch.getArray(1).getMap(1).getString("value"));
+    }
+
+    @Test
+    public void emitsSingleEventsAndBatchesInOrder() {
+        configure(10, null);
+
+        OutboundEventQueue.offer(MESSAGE_RECEIVED, reactContext, payload("m1"));
+        offerBatch(MESSAGE_RECEIVED, "m2", "m3");
+        OutboundEventQueue.offer(MESSAGE_RECEIVED, reactContext, payload("m4"));
+        reactContext.runJSQueue();
+
+        assertEquals(Arrays.asList(MESSAGE_RECEIVED, EVENTS_BATCH, MESSAGE_RECEIVED), reactContext.names);
+        assertBatch(reactContext.payloads.get(1), "m2", "m3");
+    }
+
+    @Test
+    public void batchReducedToSingleEventIsEmittedOnItsOwn() {
+        configure(1, null);
+
+        offerBatch(MESSAGE_RECEIVED, "m1", "m2");
+        reactContext.runJSQueue();
+
+        assertEquals(Collections.singletonList(MESSAGE_RECEIVED), reactContext.names);
+        assertEquals("m2", ((WritableMap) reactContext.payloads.get(0)).getString("value"));
+    }
+
+    @Test
+    public void emitsBatchRightAwayWhenDisabled() {
+        offerBatch(MESSAGE_RECEIVED, "m1", "m2");
+
+        assertEquals(Collections.singletonList(EVENTS_BATCH), reactContext.names);
+        assertBatch(reactContext.payloads.get(0), "m1", "m2");
+    }
+
+    private void offerBatch(String name, String... values) {
+        List<String> names = new ArrayList<>();
+        List<Object> payloads = new ArrayList<>();
+        for (String value : values) {
+            names.add(name);
+            payloads.add(payload(value));
+        }
+        OutboundEventQueue.offerBatch(names, payloads, reactContext);
+    }
+
+    private static WritableMap payload(String value) {
+        WritableMap map = new WritableNativeMap();
+        map.putString("value", value);
+        return map;
+    }
+
+    private static void assertBatch(Object payload, String... values) {
+        ReadableArray batch = (ReadableArray) payload;
+        assertEquals(values.length, batch.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], batch.getArray(i).getMap(1).getString("value"));
+        }
+    }
+
+    static void configure(int capacity, Map<String, String> overflow) {
+        Configuration.EventDispatchConfiguration configuration = new Configuration().new EventDispatchConfiguration();
+        configuration.queueCapacity = capacity;
+        configuration.overflow = overflow != null ? new HashMap<>(overflow) : null;
+        OutboundEventQueue.configure(configuration);
+    }
+}
@@ -0,0 +1,49 @@
+//
+//  RecordingReactContext.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * React context which records emitted events and holds JS queue work until it's run explicitly, like a busy JS thread.
+ */
+class RecordingReactContext extends ReactContext {
+    final List<String> names = new ArrayList<>();
+    final List<Object> payloads = new ArrayList<>();
+    private final List<Runnable> jsQueue = new ArrayList<>();
+    private final DeviceEventManagerModule.RCTDeviceEventEmitter emitter = (eventName, data) -> {
+        names.add(eventName);
+        payloads.add(data);
+    };
+
+    @Override
+    public boolean runOnJSQueueThread(Runnable runnable) {
+        jsQueue.add(runnable);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JavaScriptModule> T getJSModule(Class<T> moduleInterface) {
+        return (T) emitter;
+    }
+
+    void runJSQueue() {
+        List<Runnable> pending = new ArrayList<>(jsQueue);
+        jsQueue.clear();
+        for (Runnable runnable : pending) {
+            runnable.run();
+        }
+    }
+}
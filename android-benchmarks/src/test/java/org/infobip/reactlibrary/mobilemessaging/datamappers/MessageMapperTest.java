@@ -0,0 +1,119 @@
+//
+//  MessageMapperTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging.datamappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Compares {@link MessageMapper} with {@code ReactNativeJson.convertJsonToMap(MessageJson.toJSON(message))},
+ * which it replaces on the receive path.
+ */
+public class MessageMapperTest {
+
+    @Test
+    public void mapsFullMessageSameAsJson() throws JSONException {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "m1");
+        bundle.putString("title", "Title");
+        bundle.putString("body", "Body");
+        bundle.putString("sound", "default");
+        bundle.putBoolean("vibrate", true);
+        bundle.putString("icon", "ic_message");
+        bundle.putBoolean("silent", true);
+        bundle.putString("category", "category");
+        bundle.putString("from", "123456789012");
+        bundle.putLong("receivedTimestamp", 1735689600000L);
+        bundle.putLong("seenTimestamp", 1735689601000L);
+        bundle.putString("contentUrl", "https://example.com/image.jpg");
+        bundle.putBoolean("chat", true);
+        bundle.putString("browserUrl", "https://example.com");
+        bundle.putString("webViewUrl", "https://example.com/web");
+        bundle.putString("deeplink", "myapp://orders/1");
+        bundle.putString("inAppOpenTitle", "Open");
+        bundle.putString("inAppDismissTitle", "Dismiss");
+        // Internal data of the SDK isn't part of the message sent to JS
+        bundle.putString("internalData", new JSONObject().put("inApp", true).put("sendDateTime", 1735689600000L).toString());
+        bundle.putString("customPayload", customPayload().toString());
+
+        assertSameAsJson(bundle);
+    }
+
+    @Test
+    public void mapsMessageWithoutOptionalFieldsSameAsJson() throws JSONException {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "m1");
+
+        assertSameAsJson(bundle);
+        assertSameAsJson(new Bundle());
+    }
+
+    @Test
+    public void mapsNullsInCustomPayloadSameAsJson() throws JSONException {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "m1");
+        bundle.putString("customPayload", new JSONObject()
+                .put("missing", JSONObject.NULL)
+                .put("list", new JSONArray().put(1).put(JSONObject.NULL))
+                .put("nested", new JSONObject().put("missing", JSONObject.NULL))
+                .toString());
+
+        assertSameAsJson(bundle);
+    }
+
+    @Test
+    public void mapsMessagesToArraySkippingNulls() throws JSONException {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "m1");
+        bundle.putString("customPayload", customPayload().toString());
+        Message message = Message.createFrom(bundle);
+
+        WritableArray expected = new WritableNativeArray();
+        expected.pushMap(ReactNativeJson.convertJsonToMap(MessageJson.toJSON(message)));
+        WritableArray actual = MessageMapper.messagesToArray(Arrays.asList(message, null, message));
+
+        assertEquals(2, actual.size());
+        assertEquals(expected.getMap(0).toHashMap(), actual.getMap(0).toHashMap());
+        assertEquals(expected.getMap(0).toHashMap(), actual.getMap(1).toHashMap());
+        assertNull(MessageMapper.bundleToMap(null));
+    }
+
+    private static void assertSameAsJson(Bundle bundle) throws JSONException {
+        WritableMap expected = ReactNativeJson.convertJsonToMap(MessageJson.bundleToJSON(bundle));
+        WritableMap actual = MessageMapper.bundleToMap(bundle);
+
+        assertEquals(expected.toHashMap(), actual.toHashMap());
+    }
+
+    private static JSONObject customPayload() throws JSONException {
+        return new JSONObject()
+                .put("orderId", "100000")
+                .put("itemCount", 3)
+                .put("total", 129.97)
+                .put("express", false)
+                .put("updatedAt", 1735689600000L)
+                .put("tags", new JSONArray().put("sale").put(2).put(new JSONObject().put("id", 1)))
+                .put("address", new JSONObject().put("city", "Zagreb").put("zip", 10000));
+    }
+}
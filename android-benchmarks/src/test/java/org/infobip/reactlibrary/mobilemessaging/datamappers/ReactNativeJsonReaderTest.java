@@ -0,0 +1,102 @@
+//
+//  ReactNativeJsonReaderTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging.datamappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import android.os.Bundle;
+
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * Compares {@link ReactNativeJsonReader} with {@code ReactNativeJson.convertJsonToMap(new JSONObject(json))},
+ * which events restored from the journal went through before.
+ */
+public class ReactNativeJsonReaderTest {
+
+    @Test
+    public void readsJournaledMessageSameAsJSONObject() throws IOException, JSONException {
+        Bundle bundle = new Bundle();
+        bundle.putString("messageId", "m1");
+        bundle.putString("title", "Title");
+        bundle.putString("body", "Body with \"quotes\", a \\ backslash and unicode \u00e9\u4e2d");
+        bundle.putBoolean("vibrate", true);
+        bundle.putLong("receivedTimestamp", 1735689600000L);
+        bundle.putString("customPayload", new JSONObject()
+                .put("orderId", "100000")
+                .put("itemCount", 3)
+                .put("total", 129.97)
+                .put("express", false)
+                .put("missing", JSONObject.NULL)
+                .put("items", new JSONArray()
+                        .put(new JSONObject().put("sku", "SKU-1").put("tags", new JSONArray().put("sale").put(JSONObject.NULL)))
+                        .put(new JSONArray().put(1).put(2.5)))
+                .toString());
+
+        // Journal keeps the JSON text the event's JSONObject was written as
+        assertSameAsJSONObject(MessageJson.bundleToJSON(bundle).toString());
+    }
+
+    @Test
+    public void typesNumbersSameAsJSONObject() throws IOException, JSONException {
+        assertSameAsJSONObject("{'int': 42, 'negative': -7, 'zero': -0, 'maxInt': 2147483647, 'minInt': -2147483648," +
+                "'long': 2147483648, 'negativeLong': -1735689600000, 'maxLong': 9223372036854775807," +
+                "'beyondLong': 9223372036854775808, 'double': 1.5, 'wholeDouble': 2.0, 'exponent': 1e3, 'negativeExponent': 2.5E-4," +
+                "'array': [1, 2147483648, 1.5, 1e3]}");
+    }
+
+    @Test
+    public void readsNullsAndEmptyContainersSameAsJSONObject() throws IOException, JSONException {
+        assertSameAsJSONObject("{}");
+        assertSameAsJSONObject("{'null': null, 'empty': {}, 'emptyArray': [], 'nulls': [null, null], 'nested': [[], [{}]]}");
+    }
+
+    @Test
+    public void readsDeeplyNestedContainersSameAsJSONObject() throws IOException, JSONException {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            json.append(i % 2 == 0 ? "{'level': " + i + ", 'next': " : "[" + i + ", ");
+        }
+        json.append("'bottom'");
+        for (int i = 39; i >= 0; i--) {
+            json.append(i % 2 == 0 ? "}" : "]");
+        }
+
+        assertSameAsJSONObject(json.toString());
+    }
+
+    @Test
+    public void rejectsTextWhichIsNotAnObject() throws IOException {
+        assertNull(ReactNativeJsonReader.readMap(null));
+        try {
+            ReactNativeJsonReader.readMap("[1, 2]");
+            fail("Array was read as a map");
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Checks the text as written, with single quotes standing for double ones, and as JSONObject writes it to the journal.
+     */
+    private static void assertSameAsJSONObject(String json) throws IOException, JSONException {
+        String text = json.replace('\'', '"');
+        for (String journaled : new String[]{text, new JSONObject(text).toString()}) {
+            assertEquals(ReactNativeJson.convertJsonToMap(new JSONObject(journaled)).toHashMap(),
+                    ReactNativeJsonReader.readMap(journaled).toHashMap());
+        }
+    }
+}
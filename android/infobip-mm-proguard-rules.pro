@@ -36,6 +36,7 @@
 -dontwarn android.content.BroadcastReceiver
 
 # Application classes that are used by native MM SDK
+-keep class org.infobip.reactlibrary.mobilemessaging.DefaultMessageStore { public <init>(); }
 
 # Preserve all annotations.
 -keepattributes *Annotation*
@@ -10,24 +10,147 @@ package org.infobip.reactlibrary.mobilemessaging;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Process;
 import android.preference.PreferenceManager;
 
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 class CacheManager {
     private static final String LEGACY_EVENTS_KEY = Utils.TAG + ".cache.events";
     private static final Object cacheLock = new Object();
-    private static final List<Event> cachedEvents = new ArrayList<>();
-    private static final int MAX_CACHE_SIZE = 100;
+    private static final int DEFAULT_MAX_CACHE_SIZE = 100;
+    // Rough heap footprint of an event object itself, its ring slot and queue entry
+    private static final int EVENT_OVERHEAD_BYTES = 96;
+    private static final long JOURNAL_KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Defines what happens when an event is cached while another event of the same type is already in the cache.
+     */
+    enum CoalescingPolicy {
+        // Every event is cached
+        KEEP_ALL,
+        // Only the latest value matters, it replaces the cached one in place
+        LAST_VALUE_WINS,
+        // The cached event is kept and newer ones are dropped
+        KEEP_FIRST
+    }
+
+    /**
+     * When the cache is full, the oldest event of the lowest non-empty priority class is evicted,
+     * so an event is never dropped in favour of an event of lower priority.
+     */
+    enum Priority {
+        LOW,
+        NORMAL,
+        HIGH
+    }
+
+    /**
+     * Caching rules of a single event type.
+     */
+    static class EventTypePolicy {
+        Priority priority = Priority.NORMAL;
+        // Max number of cached events of the type, 0 means it's limited by the cache size only
+        int quota = 0;
+        // Age after which a cached event is dropped, 0 means it never expires
+        long ttlMillis = 0;
+        CoalescingPolicy coalescing = CoalescingPolicy.KEEP_ALL;
+
+        EventTypePolicy copy() {
+            EventTypePolicy copy = new EventTypePolicy();
+            copy.priority = priority;
+            copy.quota = quota;
+            copy.ttlMillis = ttlMillis;
+            copy.coalescing = coalescing;
+            return copy;
+        }
+    }
+
+    private static final EventTypePolicy DEFAULT_POLICY = new EventTypePolicy();
+    private static final Map<String, EventTypePolicy> defaultPolicies = new HashMap<>();
+
+    static {
+        // Taps usually open the app, they have to survive any amount of background traffic
+        EventTypePolicy tap = new EventTypePolicy();
+        tap.priority = Priority.HIGH;
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED, tap);
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_ACTION_TAPPED, tap.copy());
+
+        EventTypePolicy state = new EventTypePolicy();
+        state.coalescing = CoalescingPolicy.LAST_VALUE_WINS;
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_INAPPCHAT_UNREAD_MESSAGES_COUNT_UPDATED, state);
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_INSTALLATION_UPDATED, state.copy());
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_USER_UPDATED, state.copy());
+    }
+
+    private static final Map<String, EventTypePolicy> policies = copyOf(defaultPolicies);
+    private static int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    // 0 means the cache is limited by the number of events only
+    private static long maxCacheBytes = 0;
+    private static CostEstimator costEstimator = CacheManager::estimateCost;
+
+    // Events are kept in a bounded ring per event type, so draining one type never touches the others.
+    // Arrival order is tracked per priority class to evict the oldest event of the lowest class.
+    // Drained events stay in the order queues as consumed entries, they are skipped lazily and purged once they pile up.
+    private static final Map<String, EventRing> cachedEvents = new HashMap<>();
+    private static final ArrayDeque<Event>[] arrivalOrder = newArrivalOrder();
+    private static final int[] cachedEventsCountByPriority = new int[Priority.values().length];
+    private static long nextOrdinal = 0;
+    private static int cachedEventsCount = 0;
+    private static long cachedBytes = 0;
+    private static EventJournal journal;
+    private static boolean journalOpened = false;
+    private static final EventCacheStats stats = new EventCacheStats();
+    // Converts marshalled message bundles to JSON text for the journal and forces records of high priority events
+    // to storage, away from the thread events are received on
+    private static final ThreadPoolExecutor journalExecutor = new ThreadPoolExecutor(
+            1, 1, JOURNAL_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+            runnable -> new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "RNMMEventJournal"));
+
+    static {
+        journalExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Estimates how many bytes of heap a cached event takes, the estimate is used to cap the cache by size.
+     */
+    interface CostEstimator {
+        long estimate(Event event);
+    }
 
     static class Event {
         String type;
         JSONObject jsonObject;
+        // Message bundle marshalled as it was received, converted to JSON only when the event is emitted.
+        // Kept in memory only, parcels are readable by the platform version which wrote them only.
+        byte[] payload;
+        // JSON text restored from the journal, read straight into JS types when the event is emitted
+        String jsonText;
         Object[] objects = null;
+        long ordinal;
+        long createdAt = System.currentTimeMillis();
+        boolean consumed;
+        Priority priority = Priority.NORMAL;
+        long cost;
 
         Event(String type, JSONObject object, Object... objects) {
             this.type = type;
@@ -35,50 +158,281 @@ class CacheManager {
             this.objects = objects;
         }
 
+        /**
+         * @return JSON payload of the event, materialized from the marshalled bundle or the journal text on first access
+         */
+        JSONObject json() {
+            if (jsonObject == null && payload != null) {
+                Bundle bundle = unmarshall(payload);
+                jsonObject = bundle != null ? MessageJson.bundleToJSON(bundle) : null;
+                payload = null;
+            } else if (jsonObject == null && jsonText != null) {
+                try {
+                    jsonObject = new JSONObject(jsonText);
+                } catch (JSONException e) {
+                    RNMMLogger.e(Utils.TAG, "Can't parse cached event " + type, e);
+                }
+                jsonText = null;
+            }
+            return jsonObject;
+        }
+
         @Override
         public String toString() {
             return type;
         }
     }
 
-    static void saveEvent(String event, JSONObject object, String actionId, String actionInputText) {
+    /**
+     * Fixed-capacity FIFO ring of events of a single type.
+     */
+    static class EventRing {
+        private final Event[] slots;
+        private int head = 0;
+        private int count = 0;
+
+        EventRing(int capacity) {
+            this.slots = new Event[capacity];
+        }
+
+        int size() {
+            return count;
+        }
+
+        boolean isFull() {
+            return count == slots.length;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        Event peekFirst() {
+            return count == 0 ? null : slots[head];
+        }
+
+        void add(Event event) {
+            slots[(head + count) % slots.length] = event;
+            count++;
+        }
+
+        Event pollFirst() {
+            if (count == 0) {
+                return null;
+            }
+            Event event = slots[head];
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            count--;
+            return event;
+        }
+
+        Event[] drain() {
+            Event[] drained = new Event[count];
+            for (int i = 0; i < drained.length; i++) {
+                drained[i] = pollFirst();
+            }
+            head = 0;
+            return drained;
+        }
+    }
+
+    /**
+     * Opens the persistent event journal and restores events which were cached but not delivered before the process died.
+     * Should be called before events are cached, events cached without it are kept in memory only.
+     */
+    static void init(Context context) {
+        if (context == null) {
+            return;
+        }
+        synchronized (cacheLock) {
+            if (journalOpened) {
+                return;
+            }
+            journalOpened = true;
+            Context applicationContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+            journal = EventJournal.open(applicationContext.getFilesDir());
+            if (journal != null) {
+                // Restoring can evict or expire events, which must not touch the journal while it is being read
+                List<Event> restored = new ArrayList<>();
+                journal.replay(restored::add);
+                // Message events are journaled once they are converted to JSON, so records may be out of arrival order
+                Collections.sort(restored, (a, b) -> Long.compare(a.ordinal, b.ordinal));
+                for (Event event : restored) {
+                    restore(event);
+                }
+                if (cachedEventsCount > 0) {
+                    RNMMLogger.d(Utils.TAG, "Restored " + cachedEventsCount + " cached events from journal");
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies event cache configuration provided to `init`.
+     * Event types which are not mentioned in the configuration keep their default rules.
+     */
+    static void configure(Configuration.EventCacheConfiguration configuration) {
         synchronized (cacheLock) {
-            if (cachedEvents.size() >= MAX_CACHE_SIZE) {
-                Event removed = cachedEvents.remove(0);
-                RNMMLogger.w(Utils.TAG, "Cache full, dropping oldest event: " + removed.type);
+            policies.clear();
+            policies.putAll(copyOf(defaultPolicies));
+            maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+            maxCacheBytes = 0;
+            if (configuration != null) {
+                if (configuration.maxSize != null && configuration.maxSize > 0) {
+                    maxCacheSize = configuration.maxSize;
+                }
+                if (configuration.maxBytes != null && configuration.maxBytes > 0) {
+                    maxCacheBytes = configuration.maxBytes;
+                }
+                if (configuration.events != null) {
+                    for (Map.Entry<String, Configuration.EventCacheConfiguration.EventType> entry : configuration.events.entrySet()) {
+                        policies.put(entry.getKey(), resolvePolicy(entry.getKey(), entry.getValue()));
+                    }
+                }
             }
-            cachedEvents.add(new Event(event, object, actionId, actionInputText));
+            rebuild();
+        }
+    }
+
+    static void saveEvent(String event, JSONObject object, String actionId, String actionInputText) {
+        synchronized (cacheLock) {
+            save(event, object, null, null, actionId, actionInputText);
+        }
+    }
+
+    /**
+     * Caches a message event. The bundle is kept marshalled and converted to JSON only if the event is ever emitted,
+     * the journal gets its JSON text from a background thread.
+     */
+    static void saveEvent(String event, Bundle message, String actionId, String actionInputText) {
+        byte[] payload = marshall(message);
+        JSONObject object = payload == null && message != null ? MessageJson.bundleToJSON(message) : null;
+        synchronized (cacheLock) {
+            save(event, object, payload, null, actionId, actionInputText);
         }
     }
 
     static void saveEvent(String event, int unreadMessagesCounter) {
         synchronized (cacheLock) {
-            if (cachedEvents.size() >= MAX_CACHE_SIZE) {
-                Event removed = cachedEvents.remove(0);
-                RNMMLogger.w(Utils.TAG, "Cache full, dropping oldest event: " + removed.type);
+            Event cached = coalescingTarget(event);
+            if (cached == null) {
+                cache(new Event(event, null, unreadMessagesCounter));
+                return;
             }
-            cachedEvents.add(new Event(event, null, unreadMessagesCounter));
+            stats.of(event).coalesced.incrementAndGet();
+            if (policyOf(event).coalescing == CoalescingPolicy.LAST_VALUE_WINS) {
+                cached.jsonObject = null;
+                cached.payload = null;
+                cached.jsonText = null;
+                if (cached.objects != null && cached.objects.length == 1) {
+                    cached.objects[0] = unreadMessagesCounter;
+                } else {
+                    cached.objects = new Object[]{unreadMessagesCounter};
+                }
+                replaced(cached);
+            }
+        }
+    }
+
+    /**
+     * Replaces the default heap cost estimate, null restores the default.
+     */
+    static void setCostEstimator(CostEstimator estimator) {
+        synchronized (cacheLock) {
+            costEstimator = estimator != null ? estimator : CacheManager::estimateCost;
         }
     }
 
     static Event[] loadEvents(String eventType) {
         synchronized (cacheLock) {
-            List<Event> matched = new ArrayList<>();
-            Iterator<Event> iterator = cachedEvents.iterator();
-            while (iterator.hasNext()) {
-                Event e = iterator.next();
-                if (eventType.equals(e.type)) {
-                    matched.add(e);
-                    iterator.remove();
+            EventRing ring = cachedEvents.get(eventType);
+            if (ring == null || ring.isEmpty()) {
+                return new Event[0];
+            }
+            Event[] drained = ring.drain();
+            long ttlMillis = policyOf(eventType).ttlMillis;
+            long now = System.currentTimeMillis();
+            int expired = 0;
+            for (int i = 0; i < drained.length; i++) {
+                consume(drained[i]);
+                if (isExpired(drained[i], ttlMillis, now)) {
+                    drained[i] = null;
+                    expired++;
+                } else {
+                    stats.onReplayed(drained[i], now);
                 }
             }
-            return matched.toArray(new Event[0]);
+            purgeConsumedIfNeeded();
+            if (expired == 0) {
+                return drained;
+            }
+            stats.of(eventType).expired.addAndGet(expired);
+            RNMMLogger.d(Utils.TAG, "Dropped " + expired + " expired cached events: " + eventType);
+            Event[] valid = new Event[drained.length - expired];
+            int i = 0;
+            for (Event e : drained) {
+                if (e != null) {
+                    valid[i++] = e;
+                }
+            }
+            return valid;
         }
     }
 
+    /**
+     * Records how long it took to hand over cached events of a type to JS once it subscribed to them.
+     */
+    static void onReplayFinished(String eventType, long latencyNanos) {
+        stats.onReplayFinished(eventType, latencyNanos);
+    }
+
+    /**
+     * @return snapshot of cache counters along with its current size and limits
+     */
+    static JSONObject getStats() throws JSONException {
+        JSONObject snapshot = stats.toJSON();
+        synchronized (cacheLock) {
+            snapshot.put("size", cachedEventsCount)
+                    .put("bytes", cachedBytes)
+                    .put("maxSize", maxCacheSize)
+                    .put("maxBytes", maxCacheBytes);
+            JSONObject events = snapshot.getJSONObject("events");
+            for (Map.Entry<String, EventRing> entry : cachedEvents.entrySet()) {
+                JSONObject typeStats = events.optJSONObject(entry.getKey());
+                if (typeStats != null) {
+                    typeStats.put("size", entry.getValue().size());
+                }
+            }
+        }
+        return snapshot;
+    }
+
     static void clearCache() {
         synchronized (cacheLock) {
             cachedEvents.clear();
+            for (ArrayDeque<Event> queue : arrivalOrder) {
+                queue.clear();
+            }
+            Arrays.fill(cachedEventsCountByPriority, 0);
+            cachedEventsCount = 0;
+            cachedBytes = 0;
+            if (journal != null) {
+                journal.clear();
+            }
+        }
+    }
+
+    /**
+     * @return number of entries in the arrival order queues, including consumed ones which weren't purged yet
+     */
+    static int arrivalOrderSize() {
+        synchronized (cacheLock) {
+            int size = 0;
+            for (ArrayDeque<Event> queue : arrivalOrder) {
+                size += queue.size();
+            }
+            return size;
         }
     }
 
@@ -92,4 +446,379 @@ class CacheManager {
             RNMMLogger.d(Utils.TAG, "Cleaned up legacy SharedPreferences event cache");
         }
     }
+
+    private static EventTypePolicy policyOf(String eventType) {
+        EventTypePolicy policy = policies.get(eventType);
+        return policy != null ? policy : DEFAULT_POLICY;
+    }
+
+    private static EventTypePolicy resolvePolicy(String eventType, Configuration.EventCacheConfiguration.EventType configuration) {
+        EventTypePolicy policy = policyOf(eventType).copy();
+        if (configuration == null) {
+            return policy;
+        }
+        if (configuration.priority != null) {
+            Priority priority = parsePriority(configuration.priority);
+            if (priority != null) {
+                policy.priority = priority;
+            } else {
+                RNMMLogger.w(Utils.TAG, "Unknown event cache priority " + configuration.priority + " for " + eventType);
+            }
+        }
+        if (configuration.quota != null) {
+            policy.quota = Math.max(0, configuration.quota);
+        }
+        if (configuration.ttlSeconds != null) {
+            policy.ttlMillis = Math.max(0, configuration.ttlSeconds) * 1000;
+        }
+        if (configuration.coalescing != null) {
+            CoalescingPolicy coalescing = parseCoalescing(configuration.coalescing);
+            if (coalescing != null) {
+                policy.coalescing = coalescing;
+            } else {
+                RNMMLogger.w(Utils.TAG, "Unknown event cache coalescing " + configuration.coalescing + " for " + eventType);
+            }
+        }
+        return policy;
+    }
+
+    private static Priority parsePriority(String priority) {
+        switch (priority.toLowerCase()) {
+            case "low":
+                return Priority.LOW;
+            case "normal":
+                return Priority.NORMAL;
+            case "high":
+                return Priority.HIGH;
+            default:
+                return null;
+        }
+    }
+
+    private static CoalescingPolicy parseCoalescing(String coalescing) {
+        switch (coalescing.toLowerCase()) {
+            case "keepall":
+                return CoalescingPolicy.KEEP_ALL;
+            case "lastvaluewins":
+                return CoalescingPolicy.LAST_VALUE_WINS;
+            case "keepfirst":
+                return CoalescingPolicy.KEEP_FIRST;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Re-enqueues cached events in arrival order, so rings and priority classes match the current policies.
+     */
+    private static void rebuild() {
+        List<Event> live = new ArrayList<>(cachedEventsCount);
+        for (ArrayDeque<Event> queue : arrivalOrder) {
+            for (Event e : queue) {
+                if (!e.consumed) {
+                    live.add(e);
+                }
+            }
+            queue.clear();
+        }
+        Collections.sort(live, (a, b) -> Long.compare(a.ordinal, b.ordinal));
+        cachedEvents.clear();
+        Arrays.fill(cachedEventsCountByPriority, 0);
+        cachedEventsCount = 0;
+        cachedBytes = 0;
+        for (Event e : live) {
+            if (!enqueue(e) && journal != null) {
+                journal.markConsumed(e.ordinal);
+            }
+        }
+    }
+
+    /**
+     * @return already cached event which a new event of the given type should be coalesced with, or null if it should be cached
+     */
+    private static Event coalescingTarget(String eventType) {
+        if (policyOf(eventType).coalescing == CoalescingPolicy.KEEP_ALL) {
+            return null;
+        }
+        EventRing ring = cachedEvents.get(eventType);
+        return ring != null ? ring.peekFirst() : null;
+    }
+
+    private static void save(String type, JSONObject object, byte[] payload, String jsonText, String actionId, String actionInputText) {
+        Event cached = coalescingTarget(type);
+        if (cached == null) {
+            Event event = new Event(type, object, actionId, actionInputText);
+            event.payload = payload;
+            event.jsonText = jsonText;
+            cache(event);
+            return;
+        }
+        stats.of(type).coalesced.incrementAndGet();
+        if (policyOf(type).coalescing == CoalescingPolicy.LAST_VALUE_WINS) {
+            cached.jsonObject = object;
+            cached.payload = payload;
+            cached.jsonText = jsonText;
+            if (cached.objects != null && cached.objects.length == 2) {
+                cached.objects[0] = actionId;
+                cached.objects[1] = actionInputText;
+            } else {
+                cached.objects = new Object[]{actionId, actionInputText};
+            }
+            replaced(cached);
+        }
+    }
+
+    private static void replaced(Event event) {
+        event.createdAt = System.currentTimeMillis();
+        cachedBytes -= event.cost;
+        event.cost = costOf(event);
+        cachedBytes += event.cost;
+        if (journal != null) {
+            journal.markConsumed(event.ordinal);
+            persist(event);
+        }
+    }
+
+    private static void cache(Event event) {
+        event.ordinal = nextOrdinal++;
+        if (!enqueue(event)) {
+            stats.of(event.type).dropped.incrementAndGet();
+            return;
+        }
+        stats.onEnqueued(event.type, cachedEvents.get(event.type).size(), cachedEventsCount);
+        if (journal != null) {
+            persist(event);
+        }
+    }
+
+    private static void persist(Event event) {
+        if (event.payload == null) {
+            journal.append(event);
+            if (event.priority == Priority.HIGH) {
+                journalExecutor.execute(journal.forceTask());
+            }
+            return;
+        }
+        final byte[] payload = event.payload;
+        journalExecutor.execute(() -> {
+            Bundle bundle = unmarshall(payload);
+            JSONObject json = bundle != null ? MessageJson.bundleToJSON(bundle) : null;
+            String jsonText = json != null ? json.toString() : null;
+            Runnable force = null;
+            synchronized (cacheLock) {
+                // The event may have been emitted, evicted or replaced meanwhile
+                if (journal != null && !event.consumed && event.payload == payload) {
+                    journal.append(event, jsonText);
+                    force = event.priority == Priority.HIGH ? journal.forceTask() : null;
+                }
+            }
+            if (force != null) {
+                force.run();
+            }
+        });
+    }
+
+    private static void restore(Event event) {
+        nextOrdinal = Math.max(nextOrdinal, event.ordinal + 1);
+        if (isExpired(event, policyOf(event.type).ttlMillis, System.currentTimeMillis()) || !enqueue(event)) {
+            journal.markConsumed(event.ordinal);
+        }
+    }
+
+    /**
+     * @return true if the event was cached, false if the cache is full of events of higher priority
+     */
+    private static boolean enqueue(Event event) {
+        EventTypePolicy policy = policyOf(event.type);
+        event.priority = policy.priority;
+        event.consumed = false;
+        event.cost = costOf(event);
+        if (maxCacheBytes > 0 && event.cost > maxCacheBytes) {
+            RNMMLogger.w(Utils.TAG, "Event is larger than the whole cache, dropping event: " + event.type);
+            return false;
+        }
+
+        EventRing ring = cachedEvents.get(event.type);
+        if (ring == null) {
+            ring = new EventRing(policy.quota > 0 ? Math.min(policy.quota, maxCacheSize) : maxCacheSize);
+            cachedEvents.put(event.type, ring);
+        }
+        if (ring.isFull()) {
+            // A type over its quota makes room for itself only
+            Event removed = ring.pollFirst();
+            consume(removed);
+            // Other types of the class may have arrived in between, so the removed event stays in the order queue
+            purgeConsumedIfNeeded();
+            stats.of(removed.type).dropped.incrementAndGet();
+            RNMMLogger.w(Utils.TAG, "Cache quota reached, dropping oldest event: " + removed.type);
+        } else if (cachedEventsCount >= maxCacheSize) {
+            Event removed = evictOldest(event.priority);
+            if (removed == null) {
+                RNMMLogger.w(Utils.TAG, "Cache full, dropping event: " + event.type);
+                return false;
+            }
+            stats.of(removed.type).dropped.incrementAndGet();
+            RNMMLogger.w(Utils.TAG, "Cache full, dropping oldest event: " + removed.type);
+        }
+        while (maxCacheBytes > 0 && cachedBytes + event.cost > maxCacheBytes) {
+            Event removed = evictOldest(event.priority);
+            if (removed == null) {
+                RNMMLogger.w(Utils.TAG, "Cache size limit reached, dropping event: " + event.type);
+                return false;
+            }
+            stats.of(removed.type).dropped.incrementAndGet();
+            RNMMLogger.w(Utils.TAG, "Cache size limit reached, dropping oldest event: " + removed.type);
+        }
+        ring.add(event);
+        arrivalOrder[event.priority.ordinal()].addLast(event);
+        cachedEventsCountByPriority[event.priority.ordinal()]++;
+        cachedEventsCount++;
+        cachedBytes += event.cost;
+        return true;
+    }
+
+    /**
+     * Evicts an expired event if one is waiting at the head of any class, otherwise the oldest event
+     * of the lowest non-empty class not above the given priority.
+     *
+     * @return evicted event or null if there is nothing the given priority may evict
+     */
+    private static Event evictOldest(Priority maxPriority) {
+        long now = System.currentTimeMillis();
+        for (ArrayDeque<Event> queue : arrivalOrder) {
+            Event head = peekLive(queue);
+            if (head != null && isExpired(head, policyOf(head.type).ttlMillis, now)) {
+                return evictHead(queue);
+            }
+        }
+        for (int p = 0; p <= maxPriority.ordinal(); p++) {
+            if (cachedEventsCountByPriority[p] > 0) {
+                return evictHead(arrivalOrder[p]);
+            }
+        }
+        return null;
+    }
+
+    private static Event peekLive(ArrayDeque<Event> queue) {
+        Event head;
+        while ((head = queue.peekFirst()) != null && head.consumed) {
+            queue.pollFirst();
+        }
+        return head;
+    }
+
+    private static Event evictHead(ArrayDeque<Event> queue) {
+        Event oldest = peekLive(queue);
+        if (oldest == null) {
+            return null;
+        }
+        queue.pollFirst();
+        // Rings preserve arrival order and a type belongs to a single class, so the oldest event of a class is the head of its ring.
+        cachedEvents.get(oldest.type).pollFirst();
+        consume(oldest);
+        return oldest;
+    }
+
+    private static void consume(Event event) {
+        event.consumed = true;
+        cachedEventsCountByPriority[event.priority.ordinal()]--;
+        cachedEventsCount--;
+        cachedBytes -= event.cost;
+        if (journal != null) {
+            journal.markConsumed(event.ordinal);
+        }
+    }
+
+    /**
+     * @return estimated heap cost of the event, or 0 if the cache isn't capped by size and the estimate isn't needed
+     */
+    private static long costOf(Event event) {
+        return maxCacheBytes > 0 ? costEstimator.estimate(event) : 0;
+    }
+
+    private static long estimateCost(Event event) {
+        long cost = EVENT_OVERHEAD_BYTES + 2L * event.type.length();
+        if (event.payload != null) {
+            cost += event.payload.length;
+        } else if (event.jsonObject != null) {
+            // Parsed JSON takes at least twice its UTF-16 text, which is still far cheaper to compute than the exact size
+            cost += 4L * event.jsonObject.toString().length();
+        } else if (event.jsonText != null) {
+            cost += 2L * event.jsonText.length();
+        }
+        if (event.objects != null) {
+            for (Object value : event.objects) {
+                cost += value instanceof String ? 40 + 2L * ((String) value).length() : 16;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * @return marshalled bundle or null if it can't be marshalled, e.g. because it holds a binder
+     */
+    static byte[] marshall(Bundle bundle) {
+        if (bundle == null) {
+            return null;
+        }
+        Parcel parcel = Parcel.obtain();
+        try {
+            bundle.writeToParcel(parcel, 0);
+            return parcel.marshall();
+        } catch (RuntimeException e) {
+            RNMMLogger.w(Utils.TAG, "Can't marshall message bundle, it will be cached as JSON: " + e.getMessage());
+            return null;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    static Bundle unmarshall(byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            return parcel.readBundle(MessageJson.class.getClassLoader());
+        } catch (RuntimeException e) {
+            RNMMLogger.e(Utils.TAG, "Can't unmarshall cached message bundle", e);
+            return null;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static boolean isExpired(Event event, long ttlMillis, long now) {
+        return ttlMillis > 0 && now - event.createdAt > ttlMillis;
+    }
+
+    private static void purgeConsumedIfNeeded() {
+        for (ArrayDeque<Event> queue : arrivalOrder) {
+            if (queue.size() <= 2 * maxCacheSize) {
+                continue;
+            }
+            Iterator<Event> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().consumed) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static Map<String, EventTypePolicy> copyOf(Map<String, EventTypePolicy> source) {
+        Map<String, EventTypePolicy> copy = new HashMap<>();
+        for (Map.Entry<String, EventTypePolicy> entry : source.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArrayDeque<Event>[] newArrivalOrder() {
+        ArrayDeque<Event>[] queues = new ArrayDeque[Priority.values().length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        return queues;
+    }
 }
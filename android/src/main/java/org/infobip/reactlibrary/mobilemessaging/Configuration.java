@@ -11,13 +11,18 @@ package org.infobip.reactlibrary.mobilemessaging;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
 import com.google.firebase.FirebaseOptions;
 
 import org.infobip.mobile.messaging.api.support.http.serialization.JsonSerializer;
+import org.infobip.reactlibrary.mobilemessaging.datamappers.ReactNativeJson;
 import org.json.JSONException;
-import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +36,63 @@ public class Configuration {
         boolean multipleNotifications;
         String notificationAccentColor;
         FirebaseOptions firebaseOptions;
+        EventCacheConfiguration eventCache;
+        EventDispatchConfiguration eventDispatch;
+        MessageStorageMirrorConfiguration messageStorageMirror;
+        MessageStorageSaveBatchingConfiguration messageStorageSaveBatching;
+        MessageSearchConfiguration messageSearch;
+        MessageStorageRetentionConfiguration messageStorageRetention;
+        SeenReportingConfiguration seenReporting;
+    }
+
+    class EventCacheConfiguration {
+        class EventType {
+            // "low", "normal" or "high"
+            String priority;
+            Integer quota;
+            Long ttlSeconds;
+            // "keepAll", "lastValueWins" or "keepFirst"
+            String coalescing;
+        }
+
+        Integer maxSize;
+        Long maxBytes;
+        Map<String, EventType> events;
+    }
+
+    class EventDispatchConfiguration {
+        boolean batching;
+        Long flushIntervalMillis;
+        List<String> urgentEvents;
+        Integer queueCapacity;
+        Long blockTimeoutMillis;
+        // Event type to "block", "dropOldest", "dropNewest" or "coalesce"
+        Map<String, String> overflow;
+    }
+
+    class MessageStorageMirrorConfiguration {
+        Integer maxMessages;
+        Long maxBytes;
+    }
+
+    class MessageStorageSaveBatchingConfiguration {
+        Long windowMillis;
+        Integer maxBatchSize;
+    }
+
+    class MessageSearchConfiguration {
+        List<String> customPayloadFields;
+    }
+
+    class MessageStorageRetentionConfiguration {
+        Integer maxMessages;
+        Long maxAgeSeconds;
+        Long maxBytes;
+    }
+
+    class SeenReportingConfiguration {
+        Long debounceMillis;
+        Integer maxBatchSize;
     }
 
     class PrivacySettings {
@@ -71,17 +133,376 @@ public class Configuration {
     String userDataJwt;
     @Nullable String backendBaseURL;
 
+    /**
+     * Reads configuration straight from `init` arguments.
+     * Keys which are missing keep the field defaults, explicit nulls clear them, unknown keys are ignored.
+     * Values are coerced the same way as when `init` deserialized the arguments converted to JSON, nulls in arrays are skipped.
+     */
     @NonNull
-    static Configuration resolveConfiguration(JSONObject args) throws JSONException {
+    static Configuration resolveConfiguration(ReadableMap args) {
         if (args == null) {
             throw new IllegalArgumentException("Cannot resolve configuration from arguments");
         }
 
-        Configuration config = new JsonSerializer().deserialize(args.toString(), Configuration.class);
-        if (config == null || config.applicationCode == null) {
+        Configuration config = new Configuration();
+        config.read(args);
+        if (config.applicationCode == null) {
             throw new IllegalArgumentException("Configuration is invalid");
         }
 
         return config;
     }
+
+    private void read(ReadableMap map) {
+        if (map.hasKey("android")) {
+            android = readAndroid(optMap(map, "android"));
+        }
+        applicationCode = optString(map, "applicationCode", applicationCode);
+        inAppChatEnabled = optBoolean(map, "inAppChatEnabled", inAppChatEnabled);
+        fullFeaturedInAppsEnabled = optBoolean(map, "fullFeaturedInAppsEnabled", fullFeaturedInAppsEnabled);
+        if (map.hasKey("messageStorage")) {
+            ReadableMap messageStorageMap = optMap(map, "messageStorage");
+            messageStorage = messageStorageMap != null ? messageStorageMap.toHashMap() : null;
+        }
+        defaultMessageStorage = optBoolean(map, "defaultMessageStorage", defaultMessageStorage);
+        logging = optBoolean(map, "logging", logging);
+        reactNativePluginVersion = optString(map, "reactNativePluginVersion", reactNativePluginVersion);
+        if (map.hasKey("privacySettings")) {
+            privacySettings = readPrivacySettings(optMap(map, "privacySettings"));
+        }
+        if (map.hasKey("notificationCategories")) {
+            notificationCategories = readCategories(optArray(map, "notificationCategories"));
+        }
+        if (map.hasKey("webRTCUI")) {
+            ReadableMap webRTCUIMap = optMap(map, "webRTCUI");
+            webRTCUI = null;
+            if (webRTCUIMap != null) {
+                webRTCUI = new WebRTCUI();
+                webRTCUI.configurationId = optString(webRTCUIMap, "configurationId", null);
+            }
+        }
+        userDataJwt = optString(map, "userDataJwt", userDataJwt);
+        backendBaseURL = optString(map, "backendBaseURL", backendBaseURL);
+    }
+
+    private AndroidConfiguration readAndroid(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        AndroidConfiguration androidConfiguration = new AndroidConfiguration();
+        androidConfiguration.notificationIcon = optString(map, "notificationIcon", null);
+        androidConfiguration.notificationChannelId = optString(map, "notificationChannelId", null);
+        androidConfiguration.notificationChannelName = optString(map, "notificationChannelName", null);
+        androidConfiguration.notificationSound = optString(map, "notificationSound", null);
+        androidConfiguration.multipleNotifications = optBoolean(map, "multipleNotifications", false);
+        androidConfiguration.notificationAccentColor = optString(map, "notificationAccentColor", null);
+        androidConfiguration.firebaseOptions = readFirebaseOptions(optMap(map, "firebaseOptions"));
+        androidConfiguration.eventCache = readEventCache(optMap(map, "eventCache"));
+        androidConfiguration.eventDispatch = readEventDispatch(optMap(map, "eventDispatch"));
+        androidConfiguration.messageStorageMirror = readMessageStorageMirror(optMap(map, "messageStorageMirror"));
+        androidConfiguration.messageStorageSaveBatching = readMessageStorageSaveBatching(optMap(map, "messageStorageSaveBatching"));
+        androidConfiguration.messageSearch = readMessageSearch(optMap(map, "messageSearch"));
+        androidConfiguration.messageStorageRetention = readMessageStorageRetention(optMap(map, "messageStorageRetention"));
+        androidConfiguration.seenReporting = readSeenReporting(optMap(map, "seenReporting"));
+        return androidConfiguration;
+    }
+
+    private static FirebaseOptions readFirebaseOptions(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        // FirebaseOptions.Builder rejects options without apiKey or applicationId, which init has always accepted,
+        // so the options are still deserialized from JSON
+        try {
+            return new JsonSerializer().deserialize(ReactNativeJson.convertMapToJson(map).toString(), FirebaseOptions.class);
+        } catch (JSONException e) {
+            throw invalid("firebaseOptions");
+        }
+    }
+
+    private EventCacheConfiguration readEventCache(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        EventCacheConfiguration eventCache = new EventCacheConfiguration();
+        eventCache.maxSize = optInteger(map, "maxSize");
+        eventCache.maxBytes = optLong(map, "maxBytes");
+        ReadableMap eventsMap = optMap(map, "events");
+        if (eventsMap != null) {
+            eventCache.events = new HashMap<>();
+            ReadableMapKeySetIterator iterator = eventsMap.keySetIterator();
+            while (iterator.hasNextKey()) {
+                String eventType = iterator.nextKey();
+                ReadableMap eventMap = optMap(eventsMap, eventType);
+                if (eventMap == null) {
+                    eventCache.events.put(eventType, null);
+                    continue;
+                }
+                EventCacheConfiguration.EventType event = eventCache.new EventType();
+                event.priority = optString(eventMap, "priority", null);
+                event.quota = optInteger(eventMap, "quota");
+                event.ttlSeconds = optLong(eventMap, "ttlSeconds");
+                event.coalescing = optString(eventMap, "coalescing", null);
+                eventCache.events.put(eventType, event);
+            }
+        }
+        return eventCache;
+    }
+
+    private EventDispatchConfiguration readEventDispatch(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        EventDispatchConfiguration eventDispatch = new EventDispatchConfiguration();
+        eventDispatch.batching = optBoolean(map, "batching", false);
+        eventDispatch.flushIntervalMillis = optLong(map, "flushIntervalMillis");
+        eventDispatch.urgentEvents = optStrings(map, "urgentEvents");
+        eventDispatch.queueCapacity = optInteger(map, "queueCapacity");
+        eventDispatch.blockTimeoutMillis = optLong(map, "blockTimeoutMillis");
+        ReadableMap overflowMap = optMap(map, "overflow");
+        if (overflowMap != null) {
+            eventDispatch.overflow = new HashMap<>();
+            ReadableMapKeySetIterator iterator = overflowMap.keySetIterator();
+            while (iterator.hasNextKey()) {
+                String eventType = iterator.nextKey();
+                eventDispatch.overflow.put(eventType, optString(overflowMap, eventType, null));
+            }
+        }
+        return eventDispatch;
+    }
+
+    private MessageStorageMirrorConfiguration readMessageStorageMirror(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        MessageStorageMirrorConfiguration messageStorageMirror = new MessageStorageMirrorConfiguration();
+        messageStorageMirror.maxMessages = optInteger(map, "maxMessages");
+        messageStorageMirror.maxBytes = optLong(map, "maxBytes");
+        return messageStorageMirror;
+    }
+
+    private MessageStorageSaveBatchingConfiguration readMessageStorageSaveBatching(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        MessageStorageSaveBatchingConfiguration saveBatching = new MessageStorageSaveBatchingConfiguration();
+        saveBatching.windowMillis = optLong(map, "windowMillis");
+        saveBatching.maxBatchSize = optInteger(map, "maxBatchSize");
+        return saveBatching;
+    }
+
+    private MessageSearchConfiguration readMessageSearch(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        MessageSearchConfiguration messageSearch = new MessageSearchConfiguration();
+        messageSearch.customPayloadFields = optStrings(map, "customPayloadFields");
+        return messageSearch;
+    }
+
+    private MessageStorageRetentionConfiguration readMessageStorageRetention(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        MessageStorageRetentionConfiguration retention = new MessageStorageRetentionConfiguration();
+        retention.maxMessages = optInteger(map, "maxMessages");
+        retention.maxAgeSeconds = optLong(map, "maxAgeSeconds");
+        retention.maxBytes = optLong(map, "maxBytes");
+        return retention;
+    }
+
+    private SeenReportingConfiguration readSeenReporting(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        SeenReportingConfiguration seenReporting = new SeenReportingConfiguration();
+        seenReporting.debounceMillis = optLong(map, "debounceMillis");
+        seenReporting.maxBatchSize = optInteger(map, "maxBatchSize");
+        return seenReporting;
+    }
+
+    private PrivacySettings readPrivacySettings(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+        PrivacySettings settings = new PrivacySettings();
+        settings.userDataPersistingDisabled = optBoolean(map, "userDataPersistingDisabled", false);
+        settings.carrierInfoSendingDisabled = optBoolean(map, "carrierInfoSendingDisabled", false);
+        settings.systemInfoSendingDisabled = optBoolean(map, "systemInfoSendingDisabled", false);
+        return settings;
+    }
+
+    private List<Category> readCategories(ReadableArray array) {
+        if (array == null) {
+            return null;
+        }
+        List<Category> categories = new ArrayList<>(array.size());
+        for (ReadableMap categoryMap : maps(array, "notificationCategories")) {
+            Category category = new Category();
+            category.identifier = optString(categoryMap, "identifier", null);
+            ReadableArray actionsArray = optArray(categoryMap, "actions");
+            if (actionsArray != null) {
+                category.actions = new ArrayList<>(actionsArray.size());
+                for (ReadableMap actionMap : maps(actionsArray, "actions")) {
+                    category.actions.add(readAction(actionMap));
+                }
+            }
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private Action readAction(ReadableMap map) {
+        Action action = new Action();
+        action.identifier = optString(map, "identifier", null);
+        action.title = optString(map, "title", null);
+        action.foreground = optBoolean(map, "foreground", false);
+        action.moRequired = optBoolean(map, "moRequired", false);
+        action.icon = optString(map, "icon", null);
+        action.textInputPlaceholder = optString(map, "textInputPlaceholder", null);
+        return action;
+    }
+
+    private static ReadableMap optMap(ReadableMap map, String key) {
+        if (!map.hasKey(key) || map.isNull(key)) {
+            return null;
+        }
+        if (map.getType(key) != ReadableType.Map) {
+            throw invalid(key);
+        }
+        return map.getMap(key);
+    }
+
+    private static ReadableArray optArray(ReadableMap map, String key) {
+        if (!map.hasKey(key) || map.isNull(key)) {
+            return null;
+        }
+        if (map.getType(key) != ReadableType.Array) {
+            throw invalid(key);
+        }
+        return map.getArray(key);
+    }
+
+    private static String optString(ReadableMap map, String key, String fallback) {
+        if (!map.hasKey(key)) {
+            return fallback;
+        }
+        switch (map.getType(key)) {
+            case Null:
+                return null;
+            case String:
+                return map.getString(key);
+            case Boolean:
+                return String.valueOf(map.getBoolean(key));
+            case Number:
+                return numberToString(map.getDouble(key));
+            default:
+                throw invalid(key);
+        }
+    }
+
+    private static boolean optBoolean(ReadableMap map, String key, boolean fallback) {
+        if (!map.hasKey(key)) {
+            return fallback;
+        }
+        switch (map.getType(key)) {
+            case Null:
+                return fallback;
+            case Boolean:
+                return map.getBoolean(key);
+            case String:
+                return Boolean.parseBoolean(map.getString(key));
+            default:
+                throw invalid(key);
+        }
+    }
+
+    private static Integer optInteger(ReadableMap map, String key) {
+        Long value = optLong(map, key);
+        if (value == null) {
+            return null;
+        }
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw invalid(key);
+        }
+        return value.intValue();
+    }
+
+    private static Long optLong(ReadableMap map, String key) {
+        if (!map.hasKey(key)) {
+            return null;
+        }
+        switch (map.getType(key)) {
+            case Null:
+                return null;
+            case Number:
+                double value = map.getDouble(key);
+                if ((long) value != value) {
+                    throw invalid(key);
+                }
+                return (long) value;
+            case String:
+                try {
+                    return Long.parseLong(map.getString(key));
+                } catch (NumberFormatException e) {
+                    throw invalid(key);
+                }
+            default:
+                throw invalid(key);
+        }
+    }
+
+    private static List<String> optStrings(ReadableMap map, String key) {
+        ReadableArray array = optArray(map, key);
+        if (array == null) {
+            return null;
+        }
+        List<String> strings = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            switch (array.getType(i)) {
+                case Null:
+                    break;
+                case String:
+                    strings.add(array.getString(i));
+                    break;
+                case Boolean:
+                    strings.add(String.valueOf(array.getBoolean(i)));
+                    break;
+                case Number:
+                    strings.add(numberToString(array.getDouble(i)));
+                    break;
+                default:
+                    throw invalid(key);
+            }
+        }
+        return strings;
+    }
+
+    private static List<ReadableMap> maps(ReadableArray array, String key) {
+        List<ReadableMap> maps = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            switch (array.getType(i)) {
+                case Null:
+                    break;
+                case Map:
+                    maps.add(array.getMap(i));
+                    break;
+                default:
+                    throw invalid(key);
+            }
+        }
+        return maps;
+    }
+
+    /**
+     * Formats numbers the way org.json wrote them to JSON text, whole numbers without a fraction.
+     */
+    private static String numberToString(double value) {
+        long longValue = (long) value;
+        return value == longValue ? Long.toString(longValue) : Double.toString(value);
+    }
+
+    private static IllegalArgumentException invalid(String key) {
+        return new IllegalArgumentException("Configuration is invalid: unexpected value of " + key);
+    }
 }
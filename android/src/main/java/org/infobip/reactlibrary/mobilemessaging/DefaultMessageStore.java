@@ -0,0 +1,890 @@
+//
+//  DefaultMessageStore.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.Bundle;
+import android.text.TextUtils;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.dal.bundle.MessageBundleMapper;
+import org.infobip.mobile.messaging.storage.MessageStore;
+import org.infobip.mobile.messaging.storage.SQLiteMessageStore;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Message store used with `defaultMessageStorage`.
+ * <p>
+ * Messages are kept in the plugin's own SQLite table with the message id as the primary key,
+ * so a single message is looked up by key instead of loading and scanning the whole store.
+ * Rows hold message bundles as JSON text with the type of each value, which unlike marshalled parcels
+ * stays readable across OS and app updates, next to the columns pages of messages are filtered and ordered by.
+ * The database is written ahead, so reads aren't blocked by the SDK saving messages,
+ * and saves reuse the same compiled statements for every message of a batch.
+ * Titles, bodies and configured custom payload fields are kept in a full-text index, which {@link #search} ranks natively.
+ * Messages stored by the SDK's {@link SQLiteMessageStore}, which was used before, are copied over when the table is created.
+ * The SDK's store is left as it is, so its messages are still there if the app goes back to a version without this store.
+ */
+public class DefaultMessageStore implements MessageStore {
+    private static final String DATABASE_NAME = "infobip_rn_messages.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_MESSAGES = "messages";
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_MESSAGE = "message";
+    private static final String COLUMN_SENT_TIMESTAMP = "sent_timestamp";
+    private static final String COLUMN_SEEN_TIMESTAMP = "seen_timestamp";
+    private static final String COLUMN_PAYLOAD_KEYS = "payload_keys";
+    private static final String TABLE_SEARCH = "messages_search";
+    private static final String COLUMN_SEARCH_TITLE = "title";
+    private static final String COLUMN_SEARCH_BODY = "body";
+    private static final String COLUMN_SEARCH_PAYLOAD = "payload";
+    // Single row table with custom payload fields the search index was built with
+    private static final String TABLE_SEARCH_SETTINGS = "messages_search_settings";
+    private static final String COLUMN_SEARCH_PAYLOAD_FIELDS = "payload_fields";
+    // Title matches weigh more than matches in body or custom payload, in the order of the search table columns
+    private static final int[] SEARCH_COLUMN_WEIGHTS = {2, 1, 1};
+    private static final String[] MESSAGE_COLUMNS = {COLUMN_MESSAGE};
+    // Size of a stored message in bytes, length of text is in characters
+    private static final String MESSAGE_BYTES = "length(CAST(" + COLUMN_MESSAGE + " AS BLOB))";
+    // Types of bundle values in stored messages
+    private static final String VALUE_STRING = "s";
+    private static final String VALUE_BOOLEAN = "b";
+    private static final String VALUE_INT = "i";
+    private static final String VALUE_LONG = "l";
+    private static final String VALUE_DOUBLE = "d";
+    private static final String VALUE_BUNDLE = "B";
+    private static final String[] PAGE_COLUMNS = {COLUMN_MESSAGE, "rowid", COLUMN_SENT_TIMESTAMP};
+    // Custom payload keys are stored as one string, each key enclosed in separators
+    private static final char PAYLOAD_KEYS_SEPARATOR = '\n';
+    // Stays well below SQLite's limit of 999 bound arguments on older Android versions
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    private static Database database;
+    private static volatile List<String> searchPayloadFields = Collections.emptyList();
+
+    // Instantiated by the SDK, all instances share the same database
+    public DefaultMessageStore() {
+    }
+
+    /**
+     * Sets custom payload fields whose values are searched along with titles and bodies.
+     * The index is rebuilt with the new fields on the next search if they differ from the ones it was built with.
+     */
+    public static void configureSearch(List<String> customPayloadFields) {
+        List<String> fields = new ArrayList<>();
+        if (customPayloadFields != null) {
+            for (String field : customPayloadFields) {
+                if (field != null && !field.isEmpty() && !fields.contains(field)) {
+                    fields.add(field);
+                }
+            }
+        }
+        Collections.sort(fields);
+        searchPayloadFields = Collections.unmodifiableList(fields);
+    }
+
+    @Override
+    public List<Message> findAll(Context context) {
+        Cursor cursor = database(context).getReadableDatabase()
+                .query(TABLE_MESSAGES, MESSAGE_COLUMNS, null, null, null, null, "rowid");
+        try {
+            List<Message> messages = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                Message message = readMessage(cursor);
+                if (message != null) {
+                    messages.add(message);
+                }
+            }
+            return messages;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * @return stored message with the given id or null if there is none
+     */
+    public Message find(Context context, String messageId) {
+        Cursor cursor = database(context).getReadableDatabase()
+                .query(TABLE_MESSAGES, MESSAGE_COLUMNS, COLUMN_ID + " = ?", new String[]{messageId}, null, null, null, "1");
+        try {
+            return cursor.moveToFirst() ? readMessage(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Conditions messages of a page have to match, null ones don't restrict the page.
+     */
+    public static class Filter {
+        Long sentFrom;
+        Long sentTo;
+        Boolean seen;
+        String customPayloadKey;
+
+        public Filter(Long sentFrom, Long sentTo, Boolean seen, String customPayloadKey) {
+            this.sentFrom = sentFrom;
+            this.sentTo = sentTo;
+            this.seen = seen;
+            this.customPayloadKey = customPayloadKey;
+        }
+    }
+
+    /**
+     * Limits of the store, null ones don't apply. Bytes are the sizes of stored messages, without indexes.
+     */
+    public static class RetentionPolicy {
+        final Integer maxMessages;
+        final Long maxAgeMillis;
+        final Long maxBytes;
+
+        public RetentionPolicy(Integer maxMessages, Long maxAgeMillis, Long maxBytes) {
+            this.maxMessages = maxMessages;
+            this.maxAgeMillis = maxAgeMillis;
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    public static class Page {
+        public final List<Message> messages;
+        // Cursor of the next page, null if this is the last one
+        public final String nextCursor;
+
+        Page(List<Message> messages, String nextCursor) {
+            this.messages = messages;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    /**
+     * Reads one page of messages matching the filter, newest sent first. Messages without sent timestamp
+     * are ordered by their received timestamp. Only the rows of the page are read and parsed.
+     *
+     * @param cursor {@link Page#nextCursor} of the previous page or null for the first page
+     * @param limit  maximum number of messages in the page
+     * @param filter filter to apply or null to page through all messages
+     */
+    public Page findPage(Context context, String cursor, int limit, Filter filter) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit has to be positive: " + limit);
+        }
+        StringBuilder selection = new StringBuilder();
+        List<String> selectionArgs = new ArrayList<>();
+        appendFilter(selection, selectionArgs, filter);
+        if (cursor != null) {
+            long[] position = parseCursor(cursor);
+            // Continues right after the last message of the previous page, even if messages were added since
+            appendCondition(selection, "(" + COLUMN_SENT_TIMESTAMP + " < ? OR (" + COLUMN_SENT_TIMESTAMP + " = ? AND rowid < ?))");
+            selectionArgs.add(Long.toString(position[0]));
+            selectionArgs.add(Long.toString(position[0]));
+            selectionArgs.add(Long.toString(position[1]));
+        }
+
+        Cursor rows = database(context).getReadableDatabase().query(TABLE_MESSAGES, PAGE_COLUMNS,
+                selection.length() > 0 ? selection.toString() : null, selectionArgs.toArray(new String[0]),
+                null, null, COLUMN_SENT_TIMESTAMP + " DESC, rowid DESC", Integer.toString(limit + 1));
+        try {
+            List<Message> messages = new ArrayList<>(Math.min(rows.getCount(), limit));
+            String nextCursor = null;
+            while (rows.moveToNext()) {
+                if (rows.getPosition() == limit) {
+                    // There is at least one more message, the page ends with the previous row
+                    rows.moveToPosition(limit - 1);
+                    nextCursor = rows.getLong(2) + ":" + rows.getLong(1);
+                    break;
+                }
+                Message message = readMessage(rows);
+                if (message != null) {
+                    messages.add(message);
+                }
+            }
+            return new Page(messages, nextCursor);
+        } finally {
+            rows.close();
+        }
+    }
+
+    /**
+     * Finds messages matching all words of the query as word prefixes, best matches first.
+     * Matches in titles rank higher than in bodies and custom payload fields, equally ranked messages
+     * are ordered newest sent first. Only matching rows are ranked and only the rows of the page are parsed.
+     *
+     * @param query  text to search for, characters other than letters and digits only separate words
+     * @param cursor {@link Page#nextCursor} of the previous page or null for the first page
+     * @param limit  maximum number of messages in the page
+     */
+    public Page search(Context context, String query, String cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit has to be positive: " + limit);
+        }
+        long[] position = cursor != null ? parseSearchCursor(cursor) : null;
+        String match = matchExpression(query);
+        if (match == null) {
+            return new Page(new ArrayList<Message>(), null);
+        }
+        Database database = database(context);
+        database.ensureSearchIndex();
+
+        List<String> selectionArgs = new ArrayList<>();
+        selectionArgs.add(match);
+        String condition = "";
+        if (position != null) {
+            // Continues right after the last message of the previous page, the same way as pages of all messages
+            condition = " WHERE score < CAST(? AS INTEGER) OR (score = CAST(? AS INTEGER) AND (sent < CAST(? AS INTEGER)"
+                    + " OR (sent = CAST(? AS INTEGER) AND docid < CAST(? AS INTEGER))))";
+            selectionArgs.add(Long.toString(position[0]));
+            selectionArgs.add(Long.toString(position[0]));
+            selectionArgs.add(Long.toString(position[1]));
+            selectionArgs.add(Long.toString(position[1]));
+            selectionArgs.add(Long.toString(position[2]));
+        }
+        // Matches are ranked and sorted by SQLite, only the rows of the page are joined with their messages.
+        // OFFSET keeps the innermost query from being flattened, so matchinfo runs once per match.
+        Cursor rows = database.getReadableDatabase().rawQuery("SELECT " + TABLE_MESSAGES + "." + COLUMN_MESSAGE
+                + ", hits.docid, hits.sent, hits.score FROM (SELECT docid, sent, score FROM (SELECT docid, sent, "
+                + rankExpression("info", match.split(" ").length) + " AS score FROM (SELECT " + TABLE_SEARCH + ".docid AS docid, "
+                + TABLE_MESSAGES + "." + COLUMN_SENT_TIMESTAMP + " AS sent, hex(matchinfo(" + TABLE_SEARCH + ", 'x')) AS info"
+                + " FROM " + TABLE_SEARCH + " JOIN " + TABLE_MESSAGES + " ON " + TABLE_MESSAGES + ".rowid = " + TABLE_SEARCH + ".docid"
+                + " WHERE " + TABLE_SEARCH + " MATCH ? LIMIT -1 OFFSET 0))" + condition
+                + " ORDER BY score DESC, sent DESC, docid DESC LIMIT " + (limit + 1) + ") hits"
+                + " JOIN " + TABLE_MESSAGES + " ON " + TABLE_MESSAGES + ".rowid = hits.docid"
+                + " ORDER BY hits.score DESC, hits.sent DESC, hits.docid DESC", selectionArgs.toArray(new String[0]));
+        try {
+            List<Message> messages = new ArrayList<>(Math.min(rows.getCount(), limit));
+            String nextCursor = null;
+            while (rows.moveToNext()) {
+                if (rows.getPosition() == limit) {
+                    // There is at least one more match, the page ends with the previous row
+                    rows.moveToPosition(limit - 1);
+                    nextCursor = rows.getLong(3) + ":" + rows.getLong(2) + ":" + rows.getLong(1);
+                    break;
+                }
+                Message message = readMessage(rows);
+                if (message != null) {
+                    messages.add(message);
+                }
+            }
+            return new Page(messages, nextCursor);
+        } finally {
+            rows.close();
+        }
+    }
+
+    @Override
+    public long countAll(Context context) {
+        return DatabaseUtils.queryNumEntries(database(context).getReadableDatabase(), TABLE_MESSAGES);
+    }
+
+    /**
+     * Counts messages matching the filter without reading them.
+     *
+     * @param filter filter to apply or null to count all messages
+     */
+    public long count(Context context, Filter filter) {
+        StringBuilder selection = new StringBuilder();
+        List<String> selectionArgs = new ArrayList<>();
+        appendFilter(selection, selectionArgs, filter);
+        return DatabaseUtils.queryNumEntries(database(context).getReadableDatabase(), TABLE_MESSAGES,
+                selection.length() > 0 ? selection.toString() : null, selectionArgs.toArray(new String[0]));
+    }
+
+    /**
+     * Removes at most one batch of the oldest messages which break the policy: expired ones first,
+     * then the ones over the count limit and then the ones over the size limit. Messages are ordered by sent timestamp.
+     *
+     * @return number of removed messages, 0 once the store complies with the policy
+     */
+    public int trim(Context context, RetentionPolicy policy, long now, int batchSize) {
+        SQLiteDatabase db = database(context).getWritableDatabase();
+        int removed = 0;
+        db.beginTransaction();
+        try {
+            if (policy.maxAgeMillis != null) {
+                removed = deleteOldest(db, COLUMN_SENT_TIMESTAMP + " < ?", new String[]{Long.toString(now - policy.maxAgeMillis)}, batchSize);
+            }
+            if (removed == 0 && policy.maxMessages != null) {
+                long excess = DatabaseUtils.queryNumEntries(db, TABLE_MESSAGES) - policy.maxMessages;
+                if (excess > 0) {
+                    removed = deleteOldest(db, null, null, (int) Math.min(excess, batchSize));
+                }
+            }
+            if (removed == 0 && policy.maxBytes != null) {
+                long excess = DatabaseUtils.longForQuery(db, "SELECT ifnull(sum(" + MESSAGE_BYTES + "), 0) FROM "
+                        + TABLE_MESSAGES, null) - policy.maxBytes;
+                if (excess > 0) {
+                    removed = deleteOldestBytes(db, excess, batchSize);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return removed;
+    }
+
+    private static int deleteOldest(SQLiteDatabase db, String selection, String[] selectionArgs, int limit) {
+        return db.delete(TABLE_MESSAGES, "rowid IN (SELECT rowid FROM " + TABLE_MESSAGES
+                + (selection != null ? " WHERE " + selection : "")
+                + " ORDER BY " + COLUMN_SENT_TIMESTAMP + ", rowid LIMIT " + limit + ")", selectionArgs);
+    }
+
+    /**
+     * Deletes the oldest messages which together take at least the given number of bytes, at most limit of them.
+     */
+    private static int deleteOldestBytes(SQLiteDatabase db, long bytes, int limit) {
+        List<String> rowIds = new ArrayList<>();
+        Cursor cursor = db.query(TABLE_MESSAGES, new String[]{"rowid", MESSAGE_BYTES}, null, null,
+                null, null, COLUMN_SENT_TIMESTAMP + ", rowid", Integer.toString(limit));
+        try {
+            long freed = 0;
+            while (freed < bytes && cursor.moveToNext()) {
+                rowIds.add(Long.toString(cursor.getLong(0)));
+                freed += cursor.getLong(1);
+            }
+        } finally {
+            cursor.close();
+        }
+        if (rowIds.isEmpty()) {
+            return 0;
+        }
+        return db.delete(TABLE_MESSAGES, "rowid IN (" + placeholders(rowIds.size()) + ")", rowIds.toArray(new String[0]));
+    }
+
+    @Override
+    public void save(Context context, Message... messages) {
+        if (messages == null || messages.length == 0) {
+            return;
+        }
+        Database database = database(context);
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            insertOrUpdate(database.writeStatements(db), messages);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Deletes messages with the given ids in a single transaction, touching only their rows.
+     *
+     * @return number of deleted messages
+     */
+    public int delete(Context context, String... messageIds) {
+        if (messageIds == null || messageIds.length == 0) {
+            return 0;
+        }
+        SQLiteDatabase db = database(context).getWritableDatabase();
+        int deleted = 0;
+        db.beginTransaction();
+        try {
+            for (int from = 0; from < messageIds.length; from += MAX_IDS_PER_STATEMENT) {
+                String[] ids = Arrays.copyOfRange(messageIds, from, Math.min(messageIds.length, from + MAX_IDS_PER_STATEMENT));
+                deleted += db.delete(TABLE_MESSAGES, COLUMN_ID + " IN (" + placeholders(ids.length) + ")", ids);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll(Context context) {
+        database(context).getWritableDatabase().delete(TABLE_MESSAGES, null, null);
+    }
+
+    /**
+     * @return full-text query matching all words of the text as prefixes or null if the text has no words
+     */
+    private static String matchExpression(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                match.append(match.length() > 0 ? " " : "").append(word).append('*');
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Ranks a match by the hits of the query words in this message, weighted by column. The rank depends
+     * only on the message itself, so it doesn't change when other messages are stored and page cursors keep their place.
+     *
+     * @param info    hex of matchinfo with 'x': hits of each phrase in each column as
+     *                (hits in this row, hits in all rows, rows with hits)
+     * @param phrases number of words in the query
+     * @return SQL expression of the rank
+     */
+    private static String rankExpression(String info, int phrases) {
+        int columns = SEARCH_COLUMN_WEIGHTS.length;
+        StringBuilder score = new StringBuilder();
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                score.append(score.length() > 0 ? " + " : "").append(SEARCH_COLUMN_WEIGHTS[column]).append(" * ")
+                        .append(matchInfoValue(info, 3 * (phrase * columns + column)));
+            }
+        }
+        return score.toString();
+    }
+
+    /**
+     * @return SQL expression of the 32-bit value at the index of the hex matchinfo, which holds them in native byte order
+     */
+    private static String matchInfoValue(String info, int index) {
+        boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        StringBuilder value = new StringBuilder("(");
+        for (int digit = 0; digit < 8; digit++) {
+            int significance = littleEndian ? digit / 2 : 3 - digit / 2;
+            long factor = 1L << (8 * significance + (digit % 2 == 0 ? 4 : 0));
+            value.append(digit > 0 ? " + " : "").append(factor).append(" * (instr('0123456789ABCDEF', substr(")
+                    .append(info).append(", ").append(8 * index + digit + 1).append(", 1)) - 1)");
+        }
+        return value.append(')').toString();
+    }
+
+    /**
+     * @return rank, sent timestamp and row id of the last message of the previous page
+     */
+    private static long[] parseSearchCursor(String cursor) {
+        String[] parts = cursor.split(":", -1);
+        try {
+            if (parts.length == 3) {
+                return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+    }
+
+    private static synchronized Database database(Context context) {
+        if (database == null) {
+            database = new Database(context.getApplicationContext());
+        }
+        return database;
+    }
+
+    /**
+     * Closes the shared database, it's opened again on the next call. Lets tests start each case with a new database.
+     */
+    static synchronized void closeDatabase() {
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+    }
+
+    /**
+     * Updates rows of messages which are already stored in place, so that they keep their position in the store.
+     * Has to run in a transaction, which also keeps other threads from using the statements meanwhile.
+     */
+    private static void insertOrUpdate(WriteStatements statements, Message... messages) {
+        List<Bundle> bundles = MessageBundleMapper.messagesToBundles(Arrays.asList(messages));
+        for (int i = 0; i < messages.length; i++) {
+            if (messages[i].getMessageId() == null) {
+                RNMMLogger.w(Utils.TAG, "Message without id won't be stored");
+                continue;
+            }
+            String text = messageText(bundles.get(i));
+            if (text == null) {
+                RNMMLogger.w(Utils.TAG, "Message " + messages[i].getMessageId() + " can't be written as JSON, it won't be stored");
+                continue;
+            }
+            bindMessage(statements.update, text, messages[i]);
+            if (statements.update.executeUpdateDelete() == 0) {
+                bindMessage(statements.insert, text, messages[i]);
+                statements.insert.executeInsert();
+            }
+            bindSearchText(statements.index, messages[i], searchPayloadFields);
+            statements.index.executeInsert();
+        }
+    }
+
+    private static void bindSearchText(SQLiteStatement statement, Message message, List<String> payloadFields) {
+        statement.clearBindings();
+        bindOptString(statement, 1, message.getTitle());
+        bindOptString(statement, 2, message.getBody());
+        bindOptString(statement, 3, searchPayload(message.getCustomPayload(), payloadFields));
+        statement.bindString(4, message.getMessageId());
+    }
+
+    private static void bindOptString(SQLiteStatement statement, int index, String value) {
+        if (value != null) {
+            statement.bindString(index, value);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    /**
+     * @return values of the custom payload fields separated by spaces or null if the message has none of them
+     */
+    private static String searchPayload(JSONObject customPayload, List<String> payloadFields) {
+        if (customPayload == null || payloadFields.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        for (String field : payloadFields) {
+            Object value = customPayload.opt(field);
+            if (value != null && value != JSONObject.NULL) {
+                text.append(text.length() > 0 ? " " : "").append(value);
+            }
+        }
+        return text.length() > 0 ? text.toString() : null;
+    }
+
+    /**
+     * Binds arguments of both write statements, which take them in the same order.
+     */
+    private static void bindMessage(SQLiteStatement statement, String text, Message message) {
+        statement.clearBindings();
+        statement.bindString(1, text);
+        statement.bindLong(2, sentTimestamp(message));
+        statement.bindLong(3, message.getSeenTimestamp());
+        bindOptString(statement, 4, payloadKeys(message.getCustomPayload()));
+        statement.bindString(5, message.getMessageId());
+    }
+
+    private static long sentTimestamp(Message message) {
+        return message.getSentTimestamp() != 0 ? message.getSentTimestamp() : message.getReceivedTimestamp();
+    }
+
+    private static String payloadKeys(JSONObject customPayload) {
+        if (customPayload == null || customPayload.length() == 0) {
+            return null;
+        }
+        StringBuilder keys = new StringBuilder().append(PAYLOAD_KEYS_SEPARATOR);
+        Iterator<String> iterator = customPayload.keys();
+        while (iterator.hasNext()) {
+            keys.append(iterator.next()).append(PAYLOAD_KEYS_SEPARATOR);
+        }
+        return keys.toString();
+    }
+
+    private static void appendFilter(StringBuilder selection, List<String> selectionArgs, Filter filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.sentFrom != null) {
+            appendCondition(selection, COLUMN_SENT_TIMESTAMP + " >= ?");
+            selectionArgs.add(Long.toString(filter.sentFrom));
+        }
+        if (filter.sentTo != null) {
+            appendCondition(selection, COLUMN_SENT_TIMESTAMP + " <= ?");
+            selectionArgs.add(Long.toString(filter.sentTo));
+        }
+        if (filter.seen != null) {
+            appendCondition(selection, COLUMN_SEEN_TIMESTAMP + (filter.seen ? " != 0" : " = 0"));
+        }
+        if (filter.customPayloadKey != null) {
+            // Unlike LIKE, instr is case sensitive, the same as payload keys
+            appendCondition(selection, "instr(" + COLUMN_PAYLOAD_KEYS + ", ?) > 0");
+            selectionArgs.add(PAYLOAD_KEYS_SEPARATOR + filter.customPayloadKey + PAYLOAD_KEYS_SEPARATOR);
+        }
+    }
+
+    private static void appendCondition(StringBuilder selection, String condition) {
+        if (selection.length() > 0) {
+            selection.append(" AND ");
+        }
+        selection.append(condition);
+    }
+
+    /**
+     * @return sent timestamp and row id of the last message of the previous page
+     */
+    private static long[] parseCursor(String cursor) {
+        int separator = cursor.indexOf(':');
+        try {
+            if (separator > 0) {
+                return new long[]{Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1))};
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+        return builder.toString();
+    }
+
+    private static Message readMessage(Cursor cursor) {
+        try {
+            return Message.createFrom(jsonToBundle(new JSONObject(cursor.getString(0))));
+        } catch (JSONException e) {
+            RNMMLogger.w(Utils.TAG, "Stored message can't be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return message bundle as JSON text or null if it holds values of other types than the ones messages use
+     */
+    private static String messageText(Bundle bundle) {
+        try {
+            JSONObject json = bundleToJson(bundle);
+            return json != null ? json.toString() : null;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes each value as a pair of its type and the value, so that it's read back with the same type.
+     */
+    private static JSONObject bundleToJson(Bundle bundle) throws JSONException {
+        JSONObject json = new JSONObject();
+        for (String key : bundle.keySet()) {
+            Object value = bundle.get(key);
+            String type;
+            if (value == null) {
+                continue;
+            } else if (value instanceof String) {
+                type = VALUE_STRING;
+            } else if (value instanceof Boolean) {
+                type = VALUE_BOOLEAN;
+            } else if (value instanceof Integer) {
+                type = VALUE_INT;
+            } else if (value instanceof Long) {
+                type = VALUE_LONG;
+            } else if (value instanceof Double) {
+                type = VALUE_DOUBLE;
+            } else if (value instanceof Bundle) {
+                type = VALUE_BUNDLE;
+                value = bundleToJson((Bundle) value);
+                if (value == null) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+            json.put(key, new JSONArray().put(type).put(value));
+        }
+        return json;
+    }
+
+    private static Bundle jsonToBundle(JSONObject json) throws JSONException {
+        Bundle bundle = new Bundle();
+        Iterator<String> keys = json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            JSONArray value = json.getJSONArray(key);
+            String type = value.getString(0);
+            switch (type) {
+                case VALUE_STRING:
+                    bundle.putString(key, value.getString(1));
+                    break;
+                case VALUE_BOOLEAN:
+                    bundle.putBoolean(key, value.getBoolean(1));
+                    break;
+                case VALUE_INT:
+                    bundle.putInt(key, value.getInt(1));
+                    break;
+                case VALUE_LONG:
+                    bundle.putLong(key, value.getLong(1));
+                    break;
+                case VALUE_DOUBLE:
+                    bundle.putDouble(key, value.getDouble(1));
+                    break;
+                case VALUE_BUNDLE:
+                    bundle.putBundle(key, jsonToBundle(value.getJSONObject(1)));
+                    break;
+                default:
+                    throw new JSONException("Unknown type of " + key + ": " + type);
+            }
+        }
+        return bundle;
+    }
+
+    private static class WriteStatements {
+        final SQLiteStatement update;
+        final SQLiteStatement insert;
+        // Indexes the message stored by one of the above under the same row id
+        final SQLiteStatement index;
+
+        WriteStatements(SQLiteDatabase db) {
+            update = db.compileStatement("UPDATE " + TABLE_MESSAGES + " SET " + COLUMN_MESSAGE + " = ?, "
+                    + COLUMN_SENT_TIMESTAMP + " = ?, " + COLUMN_SEEN_TIMESTAMP + " = ?, " + COLUMN_PAYLOAD_KEYS + " = ? "
+                    + "WHERE " + COLUMN_ID + " = ?");
+            insert = db.compileStatement("INSERT INTO " + TABLE_MESSAGES + " (" + COLUMN_MESSAGE + ", "
+                    + COLUMN_SENT_TIMESTAMP + ", " + COLUMN_SEEN_TIMESTAMP + ", " + COLUMN_PAYLOAD_KEYS + ", " + COLUMN_ID + ") "
+                    + "VALUES (?, ?, ?, ?, ?)");
+            index = db.compileStatement("INSERT OR REPLACE INTO " + TABLE_SEARCH + " (docid, " + COLUMN_SEARCH_TITLE + ", "
+                    + COLUMN_SEARCH_BODY + ", " + COLUMN_SEARCH_PAYLOAD + ") "
+                    + "SELECT rowid, ?, ?, ? FROM " + TABLE_MESSAGES + " WHERE " + COLUMN_ID + " = ?");
+        }
+
+        void close() {
+            update.close();
+            insert.close();
+            index.close();
+        }
+    }
+
+    private static class Database extends SQLiteOpenHelper {
+        private final Context context;
+        private WriteStatements writeStatements;
+
+        Database(Context context) {
+            super(context, DATABASE_NAME, null, DATABASE_VERSION);
+            this.context = context;
+            setWriteAheadLoggingEnabled(true);
+        }
+
+        /**
+         * @return statements compiled once for the open database and reused by all saves
+         */
+        synchronized WriteStatements writeStatements(SQLiteDatabase db) {
+            if (writeStatements == null) {
+                writeStatements = new WriteStatements(db);
+            }
+            return writeStatements;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (writeStatements != null) {
+                writeStatements.close();
+                writeStatements = null;
+            }
+            super.close();
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLE_MESSAGES + " ("
+                    + COLUMN_ID + " TEXT PRIMARY KEY NOT NULL, "
+                    + COLUMN_MESSAGE + " TEXT NOT NULL, "
+                    + COLUMN_SENT_TIMESTAMP + " INTEGER NOT NULL DEFAULT 0, "
+                    + COLUMN_SEEN_TIMESTAMP + " INTEGER NOT NULL DEFAULT 0, "
+                    + COLUMN_PAYLOAD_KEYS + " TEXT)");
+            createSentTimestampIndex(db);
+            createSeenTimestampIndex(db);
+            createSearchIndex(db);
+            try {
+                List<Message> legacyMessages = new SQLiteMessageStore().findAll(context);
+                if (!legacyMessages.isEmpty()) {
+                    // Table is created in a transaction which may still be rolled back, so its statements aren't kept
+                    WriteStatements statements = new WriteStatements(db);
+                    try {
+                        insertOrUpdate(statements, legacyMessages.toArray(new Message[0]));
+                    } finally {
+                        statements.close();
+                    }
+                    RNMMLogger.i(Utils.TAG, "Copied " + legacyMessages.size() + " messages from the SDK message store");
+                }
+            } catch (RuntimeException e) {
+                RNMMLogger.w(Utils.TAG, "Can't copy messages from the SDK message store: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            // Nothing to upgrade yet, the first version is the only one
+        }
+
+        private static void createSearchIndex(SQLiteDatabase db) {
+            // FTS5 isn't available on all Android versions, FTS4 is.
+            // unicode61 folds case in all scripts and removes diacritics of Latin letters, the default tokenizer folds ASCII letters only.
+            db.execSQL("CREATE VIRTUAL TABLE " + TABLE_SEARCH + " USING fts4("
+                    + COLUMN_SEARCH_TITLE + ", " + COLUMN_SEARCH_BODY + ", " + COLUMN_SEARCH_PAYLOAD + ", tokenize=unicode61)");
+            db.execSQL("CREATE TRIGGER " + TABLE_SEARCH + "_delete AFTER DELETE ON " + TABLE_MESSAGES
+                    + " BEGIN DELETE FROM " + TABLE_SEARCH + " WHERE docid = old.rowid; END");
+            db.execSQL("CREATE TABLE " + TABLE_SEARCH_SETTINGS + " (" + COLUMN_SEARCH_PAYLOAD_FIELDS + " TEXT)");
+            // Index of a new database is kept up to date by saves, so the first search doesn't need to rebuild it
+            db.execSQL("INSERT INTO " + TABLE_SEARCH_SETTINGS + " VALUES (?)", new Object[]{TextUtils.join("\n", searchPayloadFields)});
+        }
+
+        /**
+         * Rebuilds the search index if it was built with other custom payload fields than the configured ones.
+         */
+        synchronized void ensureSearchIndex() {
+            List<String> payloadFields = searchPayloadFields;
+            String fields = TextUtils.join("\n", payloadFields);
+            SQLiteDatabase db = getWritableDatabase();
+            String indexedFields = DatabaseUtils.stringForQuery(db, "SELECT " + COLUMN_SEARCH_PAYLOAD_FIELDS
+                    + " FROM " + TABLE_SEARCH_SETTINGS, null);
+            if (fields.equals(indexedFields)) {
+                return;
+            }
+            long startedAt = System.currentTimeMillis();
+            db.beginTransaction();
+            try {
+                db.execSQL("DELETE FROM " + TABLE_SEARCH);
+                SQLiteStatement index = db.compileStatement("INSERT INTO " + TABLE_SEARCH + " (docid, " + COLUMN_SEARCH_TITLE + ", "
+                        + COLUMN_SEARCH_BODY + ", " + COLUMN_SEARCH_PAYLOAD + ") VALUES (?, ?, ?, ?)");
+                Cursor cursor = db.query(TABLE_MESSAGES, new String[]{COLUMN_MESSAGE, "rowid"}, null, null, null, null, null);
+                try {
+                    while (cursor.moveToNext()) {
+                        Message message = readMessage(cursor);
+                        if (message == null) {
+                            continue;
+                        }
+                        index.clearBindings();
+                        index.bindLong(1, cursor.getLong(1));
+                        bindOptString(index, 2, message.getTitle());
+                        bindOptString(index, 3, message.getBody());
+                        bindOptString(index, 4, searchPayload(message.getCustomPayload(), payloadFields));
+                        index.executeInsert();
+                    }
+                } finally {
+                    cursor.close();
+                    index.close();
+                }
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_SEARCH_PAYLOAD_FIELDS, fields);
+                db.update(TABLE_SEARCH_SETTINGS, values, null, null);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            RNMMLogger.i(Utils.TAG, "Message search index rebuilt in " + (System.currentTimeMillis() - startedAt) + " ms");
+        }
+
+        private static void createSentTimestampIndex(SQLiteDatabase db) {
+            db.execSQL("CREATE INDEX " + TABLE_MESSAGES + "_" + COLUMN_SENT_TIMESTAMP
+                    + " ON " + TABLE_MESSAGES + " (" + COLUMN_SENT_TIMESTAMP + ")");
+        }
+
+        /**
+         * Serves pages of seen or unseen messages, which are ordered by sent timestamp.
+         */
+        private static void createSeenTimestampIndex(SQLiteDatabase db) {
+            db.execSQL("CREATE INDEX " + TABLE_MESSAGES + "_" + COLUMN_SEEN_TIMESTAMP
+                    + " ON " + TABLE_MESSAGES + " (" + COLUMN_SEEN_TIMESTAMP + ", " + COLUMN_SENT_TIMESTAMP + ")");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+//
+//  EventCacheStats.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the native event cache, per event type.
+ * <p>
+ * Updates are single atomic operations without locking, so recording never slows down caching itself.
+ * A snapshot is not taken atomically across counters, which is fine for diagnostics.
+ */
+class EventCacheStats {
+
+    static class TypeStats {
+        final AtomicLong enqueued = new AtomicLong();
+        final AtomicLong replayed = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong expired = new AtomicLong();
+        final AtomicLong coalesced = new AtomicLong();
+        final AtomicLong highWaterMark = new AtomicLong();
+        final AtomicLong totalTimeInCacheMillis = new AtomicLong();
+        final AtomicLong maxTimeInCacheMillis = new AtomicLong();
+        final AtomicLong replays = new AtomicLong();
+        final AtomicLong lastReplayLatencyMicros = new AtomicLong();
+        final AtomicLong maxReplayLatencyMicros = new AtomicLong();
+
+        JSONObject toJSON() throws JSONException {
+            long replayedCount = replayed.get();
+            return new JSONObject()
+                    .put("enqueued", enqueued.get())
+                    .put("replayed", replayedCount)
+                    .put("dropped", dropped.get())
+                    .put("expired", expired.get())
+                    .put("coalesced", coalesced.get())
+                    .put("highWaterMark", highWaterMark.get())
+                    .put("averageTimeInCacheMillis", replayedCount > 0 ? totalTimeInCacheMillis.get() / replayedCount : 0)
+                    .put("maxTimeInCacheMillis", maxTimeInCacheMillis.get())
+                    .put("replays", replays.get())
+                    .put("lastReplayLatencyMillis", lastReplayLatencyMicros.get() / 1000.0)
+                    .put("maxReplayLatencyMillis", maxReplayLatencyMicros.get() / 1000.0);
+        }
+    }
+
+    private final Map<String, TypeStats> types = new ConcurrentHashMap<>();
+    final AtomicLong highWaterMark = new AtomicLong();
+
+    TypeStats of(String eventType) {
+        TypeStats stats = types.get(eventType);
+        if (stats == null) {
+            TypeStats created = new TypeStats();
+            stats = types.putIfAbsent(eventType, created);
+            if (stats == null) {
+                stats = created;
+            }
+        }
+        return stats;
+    }
+
+    void onEnqueued(String eventType, int typeCount, int totalCount) {
+        TypeStats stats = of(eventType);
+        stats.enqueued.incrementAndGet();
+        updateMax(stats.highWaterMark, typeCount);
+        updateMax(highWaterMark, totalCount);
+    }
+
+    void onReplayed(CacheManager.Event event, long now) {
+        TypeStats stats = of(event.type);
+        long timeInCache = Math.max(0, now - event.createdAt);
+        stats.replayed.incrementAndGet();
+        stats.totalTimeInCacheMillis.addAndGet(timeInCache);
+        updateMax(stats.maxTimeInCacheMillis, timeInCache);
+    }
+
+    /**
+     * Records time between JS subscribing to an event type and all its cached events being handed over to JS.
+     */
+    void onReplayFinished(String eventType, long latencyNanos) {
+        TypeStats stats = of(eventType);
+        long latencyMicros = latencyNanos / 1000;
+        stats.replays.incrementAndGet();
+        stats.lastReplayLatencyMicros.set(latencyMicros);
+        updateMax(stats.maxReplayLatencyMicros, latencyMicros);
+    }
+
+    JSONObject toJSON() throws JSONException {
+        JSONObject events = new JSONObject();
+        for (Map.Entry<String, TypeStats> entry : types.entrySet()) {
+            events.put(entry.getKey(), entry.getValue().toJSON());
+        }
+        return new JSONObject()
+                .put("highWaterMark", highWaterMark.get())
+                .put("events", events);
+    }
+
+    static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+}
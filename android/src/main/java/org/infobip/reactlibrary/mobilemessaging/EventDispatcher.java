@@ -0,0 +1,246 @@
+//
+//  EventDispatcher.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits events to JS, optionally buffering them and flushing the buffer as a single batch event
+ * once per frame or once per configured interval, so bursts of events cross the bridge once.
+ * <p>
+ * Buffered events keep their order. Urgent events, like notification taps, flush the buffer and are emitted right away.
+ * Batching is disabled by default and is used only when JS is able to unpack batches.
+ * <p>
+ * Flushed events are handed over to {@link OutboundEventQueue} outside of the buffer lock, so events being buffered
+ * never wait for the queue. Flushes are serialized by their own lock, which keeps batches in order.
+ * The queue packs the events of a batch into the single batch event JS unpacks.
+ */
+class EventDispatcher {
+    // Frames are not produced while the screen is off, so a frame-aligned flush falls back to a timer
+    private static final long FRAME_FLUSH_FALLBACK_MILLIS = 100;
+
+    // Guards the buffer, held only for its updates
+    private static final Object lock = new Object();
+    // Serializes hand-overs of flushed events, taken before the buffer lock, never after it
+    private static final Object flushLock = new Object();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Set<String> defaultUrgentEvents = new HashSet<>();
+
+    static {
+        defaultUrgentEvents.add(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED);
+        defaultUrgentEvents.add(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_ACTION_TAPPED);
+        defaultUrgentEvents.add(ReactNativeMobileMessagingService.EVENT_EVENTS_BATCH);
+    }
+
+    private static volatile boolean batchingEnabled = false;
+    // 0 means buffer is flushed on every frame
+    private static long flushIntervalMillis = 0;
+    private static Set<String> urgentEvents = new HashSet<>(defaultUrgentEvents);
+
+    private static List<PendingEvent> pendingEvents = new ArrayList<>();
+    private static ReactContext pendingContext;
+    private static long firstPendingAtNanos;
+    private static boolean flushScheduled = false;
+
+    private static final AtomicLong batches = new AtomicLong();
+    private static final AtomicLong batchedEvents = new AtomicLong();
+    private static final AtomicLong maxBatchSize = new AtomicLong();
+    private static final AtomicLong totalFlushLatencyMicros = new AtomicLong();
+    private static final AtomicLong maxFlushLatencyMicros = new AtomicLong();
+    private static final AtomicLong bypassedEvents = new AtomicLong();
+
+    private static class Batch {
+        final List<PendingEvent> events;
+        final ReactContext reactContext;
+
+        Batch(List<PendingEvent> events, ReactContext reactContext) {
+            this.events = events;
+            this.reactContext = reactContext;
+        }
+    }
+
+    private static class PendingEvent {
+        final String name;
+        final Object payload;
+
+        PendingEvent(String name, Object payload) {
+            this.name = name;
+            this.payload = payload;
+        }
+    }
+
+    private static final Runnable flushRunnable = EventDispatcher::flush;
+    private static final Choreographer.FrameCallback frameCallback = frameTimeNanos -> flush();
+    private static final Runnable scheduleFrameRunnable = () -> Choreographer.getInstance().postFrameCallback(frameCallback);
+
+    /**
+     * Applies event dispatch configuration provided to `init`, pending events are flushed first.
+     */
+    static void configure(Configuration.EventDispatchConfiguration configuration) {
+        flush();
+        synchronized (lock) {
+            batchingEnabled = configuration != null && configuration.batching;
+            flushIntervalMillis = configuration != null && configuration.flushIntervalMillis != null
+                    ? Math.max(0, configuration.flushIntervalMillis) : 0;
+            urgentEvents = new HashSet<>(defaultUrgentEvents);
+            if (configuration != null && configuration.urgentEvents != null) {
+                urgentEvents.addAll(configuration.urgentEvents);
+            }
+        }
+    }
+
+    /**
+     * Emits the event or buffers it for the next flush.
+     *
+     * @param payload {@link ReadableMap}, {@link ReadableArray} or null
+     */
+    static void emit(String eventName, ReactContext reactContext, Object payload) {
+        if (!batchingEnabled || !ReactNativeMobileMessagingService.getJsSupportsEventBatches()) {
+            emitNow(eventName, reactContext, payload);
+            return;
+        }
+        boolean urgent;
+        synchronized (lock) {
+            urgent = urgentEvents.contains(eventName);
+            if (!urgent && (pendingContext == null || pendingContext == reactContext)) {
+                bufferLocked(eventName, reactContext, payload);
+                return;
+            }
+        }
+        synchronized (flushLock) {
+            Batch batch;
+            synchronized (lock) {
+                batch = takePendingLocked();
+                if (!urgent) {
+                    // React context was recreated, pending events belong to the old one
+                    bufferLocked(eventName, reactContext, payload);
+                }
+            }
+            send(batch);
+            if (urgent) {
+                bypassedEvents.incrementAndGet();
+                emitNow(eventName, reactContext, payload);
+            }
+        }
+    }
+
+    static void flush() {
+        synchronized (flushLock) {
+            Batch batch;
+            synchronized (lock) {
+                batch = takePendingLocked();
+            }
+            send(batch);
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        long batchCount = batches.get();
+        return new JSONObject()
+                .put("batching", batchingEnabled)
+                .put("batches", batchCount)
+                .put("batchedEvents", batchedEvents.get())
+                .put("averageBatchSize", batchCount > 0 ? (double) batchedEvents.get() / batchCount : 0)
+                .put("maxBatchSize", maxBatchSize.get())
+                .put("averageFlushLatencyMillis", batchCount > 0 ? totalFlushLatencyMicros.get() / 1000.0 / batchCount : 0)
+                .put("maxFlushLatencyMillis", maxFlushLatencyMicros.get() / 1000.0)
+                .put("bypassedEvents", bypassedEvents.get());
+    }
+
+    private static void scheduleFlushLocked() {
+        if (flushScheduled) {
+            return;
+        }
+        flushScheduled = true;
+        if (flushIntervalMillis > 0) {
+            mainHandler.postDelayed(flushRunnable, flushIntervalMillis);
+        } else {
+            mainHandler.post(scheduleFrameRunnable);
+            mainHandler.postDelayed(flushRunnable, FRAME_FLUSH_FALLBACK_MILLIS);
+        }
+    }
+
+    private static void bufferLocked(String eventName, ReactContext reactContext, Object payload) {
+        if (pendingEvents.isEmpty()) {
+            firstPendingAtNanos = System.nanoTime();
+        }
+        pendingContext = reactContext;
+        pendingEvents.add(new PendingEvent(eventName, payload));
+        scheduleFlushLocked();
+    }
+
+    /**
+     * Takes buffered events out of the buffer, they have to be sent after the buffer lock is released.
+     *
+     * @return taken events or null if there are none
+     */
+    private static Batch takePendingLocked() {
+        flushScheduled = false;
+        if (pendingEvents.isEmpty()) {
+            return null;
+        }
+        Batch taken = new Batch(pendingEvents, pendingContext);
+        pendingEvents = new ArrayList<>();
+        pendingContext = null;
+        mainHandler.removeCallbacks(flushRunnable);
+
+        long latencyMicros = (System.nanoTime() - firstPendingAtNanos) / 1000;
+        batches.incrementAndGet();
+        batchedEvents.addAndGet(taken.events.size());
+        totalFlushLatencyMicros.addAndGet(latencyMicros);
+        EventCacheStats.updateMax(maxBatchSize, taken.events.size());
+        EventCacheStats.updateMax(maxFlushLatencyMicros, latencyMicros);
+        return taken;
+    }
+
+    private static void send(Batch taken) {
+        if (taken == null) {
+            return;
+        }
+        List<PendingEvent> events = taken.events;
+        if (events.size() == 1) {
+            emitNow(events.get(0).name, taken.reactContext, events.get(0).payload);
+            return;
+        }
+        if (taken.reactContext == null) {
+            RNMMLogger.e(Utils.TAG, "reactContext is null, can't send " + events.size() + " batched events");
+            return;
+        }
+        List<String> names = new ArrayList<>(events.size());
+        List<Object> payloads = new ArrayList<>(events.size());
+        for (PendingEvent event : events) {
+            names.add(event.name);
+            payloads.add(event.payload);
+        }
+        OutboundEventQueue.offerBatch(names, payloads, taken.reactContext);
+    }
+
+    private static void emitNow(String eventName, ReactContext reactContext, Object payload) {
+        if (reactContext == null) {
+            RNMMLogger.e(Utils.TAG, "reactContext is null, can't send event " + eventName);
+            return;
+        }
+        OutboundEventQueue.offer(eventName, reactContext, payload);
+    }
+}
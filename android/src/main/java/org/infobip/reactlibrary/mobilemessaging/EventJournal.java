@@ -0,0 +1,378 @@
+//
+//  EventJournal.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of cached events, so events received while JS is not attached survive process death.
+ * <p>
+ * File layout: {@code [magic:int][version:int]} followed by records
+ * {@code [length:int][crc32:int][state:byte][body:length bytes]}. A zero length marks the end of the log.
+ * The length is written last, so a record torn by process death is never visible, and the CRC over the body
+ * rejects anything else that is inconsistent. Consuming an event flips the state byte in place, everything else
+ * is only appended. When the file runs out of space, live records are copied into a fresh file (compaction),
+ * and the file grows only if that is not enough.
+ * <p>
+ * Records hold message payloads as JSON text, never as parcels, so they stay readable after an OS update.
+ * Writes land in the page cache, which survives process death but not a crash of the OS or a power loss.
+ * Records of high priority events, notification taps by default, are forced to storage by a background
+ * thread right after they are appended, others are persisted on a best-effort basis.
+ * <p>
+ * Not thread safe, {@link CacheManager} guards all access with its cache lock.
+ */
+class EventJournal {
+    static final String FILE_NAME = "rnmm_event_journal.bin";
+
+    private static final int MAGIC = 0x524E4D4A; // "RNMJ"
+    private static final int VERSION = 3;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 9;
+    private static final int STATE_OFFSET = 8;
+    private static final byte STATE_LIVE = 1;
+    private static final byte STATE_CONSUMED = 2;
+
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_CAPACITY = 4 * 1024 * 1024;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_DOUBLE = 4;
+
+    interface RecordConsumer {
+        void onRecord(CacheManager.Event event);
+    }
+
+    private final File file;
+    private final CRC32 crc = new CRC32();
+    private final Map<Long, Integer> livePositions = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int writePosition;
+
+    private EventJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the journal in the given directory, creating it if needed.
+     *
+     * @return opened journal or null if the file can't be mapped, in which case events are kept in memory only
+     */
+    static EventJournal open(File directory) {
+        EventJournal journal = new EventJournal(new File(directory, FILE_NAME));
+        try {
+            journal.map(Math.max(INITIAL_CAPACITY, (int) Math.min(journal.file.length(), MAX_CAPACITY)));
+            return journal;
+        } catch (IOException e) {
+            RNMMLogger.e(Utils.TAG, "Can't open event journal, events will be cached in memory only", e);
+            return null;
+        }
+    }
+
+    /**
+     * Streams live records to the consumer in the order they were appended. Stops at the first corrupted record,
+     * which becomes the new end of the log.
+     */
+    void replay(RecordConsumer consumer) {
+        livePositions.clear();
+        int position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            int checksum = buffer.getInt(position + 4);
+            byte state = buffer.get(position + STATE_OFFSET);
+            int bodyStart = position + RECORD_HEADER_SIZE;
+            if (checksum != checksum(bodyStart, length)) {
+                RNMMLogger.w(Utils.TAG, "Event journal record at " + position + " is corrupted, truncating journal");
+                break;
+            }
+            if (state == STATE_LIVE) {
+                CacheManager.Event event = decode(bodyStart, length);
+                if (event != null) {
+                    livePositions.put(event.ordinal, position);
+                    consumer.onRecord(event);
+                } else {
+                    // Unreadable record, don't bring it along on compaction
+                    buffer.put(position + STATE_OFFSET, STATE_CONSUMED);
+                }
+            }
+            position = bodyStart + length;
+        }
+        writePosition = position;
+        clearFrom(writePosition);
+    }
+
+    void append(CacheManager.Event event) {
+        append(event, event.jsonObject != null ? event.jsonObject.toString() : event.jsonText);
+    }
+
+    /**
+     * Appends the event with the given JSON text of its payload, for events whose payload is still marshalled.
+     */
+    void append(CacheManager.Event event, String jsonText) {
+        byte[] body;
+        try {
+            body = encode(event, jsonText);
+        } catch (RuntimeException e) {
+            RNMMLogger.e(Utils.TAG, "Can't persist event " + event.type, e);
+            return;
+        }
+        int recordSize = RECORD_HEADER_SIZE + body.length;
+        if (!ensureCapacity(recordSize)) {
+            RNMMLogger.w(Utils.TAG, "Event journal is full, event " + event.type + " is cached in memory only");
+            return;
+        }
+        int position = writePosition;
+        buffer.position(position + RECORD_HEADER_SIZE);
+        buffer.put(body);
+        crc.reset();
+        crc.update(body, 0, body.length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.put(position + STATE_OFFSET, STATE_LIVE);
+        // Terminate the log after this record before publishing it, bytes past it may be left over from a cleared log
+        buffer.putInt(position + recordSize, 0);
+        buffer.putInt(position, body.length);
+        writePosition = position + recordSize;
+        livePositions.put(event.ordinal, position);
+    }
+
+    /**
+     * @return task which forces the records appended so far to storage. It doesn't touch the journal state,
+     * so it may run on another thread without the cache lock while records are being appended.
+     */
+    Runnable forceTask() {
+        MappedByteBuffer mapped = buffer;
+        return mapped::force;
+    }
+
+    void markConsumed(long ordinal) {
+        Integer position = livePositions.remove(ordinal);
+        if (position != null) {
+            buffer.put(position + STATE_OFFSET, STATE_CONSUMED);
+        }
+        if (livePositions.isEmpty() && writePosition > FILE_HEADER_SIZE) {
+            // Nothing left to replay, cheapest compaction there is
+            clear();
+        }
+    }
+
+    void clear() {
+        livePositions.clear();
+        writePosition = FILE_HEADER_SIZE;
+        clearFrom(writePosition);
+    }
+
+    private boolean ensureCapacity(int recordSize) {
+        // Keep room for the terminating zero length
+        if (writePosition + recordSize + 4 <= buffer.capacity()) {
+            return true;
+        }
+        compact();
+        if (writePosition + recordSize + 4 <= buffer.capacity()) {
+            return true;
+        }
+        int capacity = buffer.capacity();
+        while (capacity < writePosition + recordSize + 4 && capacity < MAX_CAPACITY) {
+            capacity = Math.min(capacity * 2, MAX_CAPACITY);
+        }
+        if (capacity == buffer.capacity() || capacity < writePosition + recordSize + 4) {
+            return false;
+        }
+        try {
+            map(capacity);
+            return true;
+        } catch (IOException e) {
+            RNMMLogger.e(Utils.TAG, "Can't grow event journal", e);
+            return false;
+        }
+    }
+
+    /**
+     * Copies live records into a new file and atomically replaces the journal with it.
+     */
+    private void compact() {
+        File compacted = new File(file.getParentFile(), FILE_NAME + ".compact");
+        Map<Long, Integer> positions = new HashMap<>();
+        try (RandomAccessFile raf = new RandomAccessFile(compacted, "rw");
+             FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            raf.setLength(buffer.capacity());
+            MappedByteBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, 0, buffer.capacity());
+            target.putInt(0, MAGIC);
+            target.putInt(4, VERSION);
+            int targetPosition = FILE_HEADER_SIZE;
+            int position = FILE_HEADER_SIZE;
+            while (position < writePosition) {
+                int recordSize = RECORD_HEADER_SIZE + buffer.getInt(position);
+                if (buffer.get(position + STATE_OFFSET) == STATE_LIVE) {
+                    ByteBuffer record = buffer.duplicate();
+                    record.limit(position + recordSize).position(position);
+                    target.position(targetPosition);
+                    target.put(record);
+                    positions.put(buffer.getLong(position + RECORD_HEADER_SIZE), targetPosition);
+                    targetPosition += recordSize;
+                }
+                position += recordSize;
+            }
+            target.force();
+            if (!compacted.renameTo(file)) {
+                throw new IOException("Can't replace event journal with compacted copy");
+            }
+            buffer = target;
+            writePosition = targetPosition;
+            livePositions.clear();
+            livePositions.putAll(positions);
+        } catch (IOException e) {
+            RNMMLogger.e(Utils.TAG, "Event journal compaction failed", e);
+            //noinspection ResultOfMethodCallIgnored
+            compacted.delete();
+        }
+    }
+
+    private void map(int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            boolean created = raf.length() < FILE_HEADER_SIZE;
+            if (raf.length() < capacity) {
+                raf.setLength(capacity);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            if (created || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                livePositions.clear();
+                writePosition = FILE_HEADER_SIZE;
+                clearFrom(writePosition);
+            }
+        }
+    }
+
+    private void clearFrom(int position) {
+        if (position + 4 <= buffer.capacity()) {
+            buffer.putInt(position, 0);
+        }
+    }
+
+    private int checksum(int start, int length) {
+        crc.reset();
+        for (int i = start; i < start + length; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    // Body: [ordinal:long][createdAt:long][type][json][objectCount:byte][objects...]
+    private static byte[] encode(CacheManager.Event event, String jsonText) {
+        byte[] type = event.type.getBytes(StandardCharsets.UTF_8);
+        byte[] json = jsonText != null ? jsonText.getBytes(StandardCharsets.UTF_8) : null;
+        Object[] objects = event.objects != null ? event.objects : new Object[0];
+        byte[][] encodedStrings = new byte[objects.length][];
+
+        int size = 8 + 8 + 4 + type.length + 4 + (json != null ? json.length : 0) + 1;
+        for (int i = 0; i < objects.length; i++) {
+            Object value = objects[i];
+            size += 1;
+            if (value instanceof Integer) {
+                size += 4;
+            } else if (value instanceof Boolean) {
+                size += 1;
+            } else if (value instanceof Double) {
+                size += 8;
+            } else if (value != null) {
+                encodedStrings[i] = value.toString().getBytes(StandardCharsets.UTF_8);
+                size += 4 + encodedStrings[i].length;
+            }
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(event.ordinal);
+        body.putLong(event.createdAt);
+        body.putInt(type.length).put(type);
+        if (json != null) {
+            body.putInt(json.length).put(json);
+        } else {
+            body.putInt(-1);
+        }
+        body.put((byte) objects.length);
+        for (int i = 0; i < objects.length; i++) {
+            Object value = objects[i];
+            if (value == null) {
+                body.put(TAG_NULL);
+            } else if (value instanceof Integer) {
+                body.put(TAG_INT).putInt((Integer) value);
+            } else if (value instanceof Boolean) {
+                body.put(TAG_BOOLEAN).put((byte) ((Boolean) value ? 1 : 0));
+            } else if (value instanceof Double) {
+                body.put(TAG_DOUBLE).putDouble((Double) value);
+            } else {
+                body.put(TAG_STRING).putInt(encodedStrings[i].length).put(encodedStrings[i]);
+            }
+        }
+        return body.array();
+    }
+
+    private CacheManager.Event decode(int start, int length) {
+        try {
+            ByteBuffer body = buffer.duplicate();
+            body.limit(start + length).position(start);
+            long ordinal = body.getLong();
+            long createdAt = body.getLong();
+            String type = readString(body, body.getInt());
+            int jsonLength = body.getInt();
+            // Parsed only when the event is emitted, straight into JS types
+            String json = jsonLength >= 0 ? readString(body, jsonLength) : null;
+            Object[] objects = new Object[body.get()];
+            for (int i = 0; i < objects.length; i++) {
+                switch (body.get()) {
+                    case TAG_STRING:
+                        objects[i] = readString(body, body.getInt());
+                        break;
+                    case TAG_INT:
+                        objects[i] = body.getInt();
+                        break;
+                    case TAG_BOOLEAN:
+                        objects[i] = body.get() != 0;
+                        break;
+                    case TAG_DOUBLE:
+                        objects[i] = body.getDouble();
+                        break;
+                    default:
+                        objects[i] = null;
+                }
+            }
+            CacheManager.Event event = new CacheManager.Event(type, null, objects);
+            event.jsonText = json;
+            event.ordinal = ordinal;
+            event.createdAt = createdAt;
+            return event;
+        } catch (RuntimeException e) {
+            RNMMLogger.e(Utils.TAG, "Can't restore event from journal", e);
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer body, int length) {
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,219 @@
+//
+//  MessageSeenReporter.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Callback;
+
+import org.infobip.mobile.messaging.MobileMessaging;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects ids of messages JS marks as seen and reports them to the SDK in a single call.
+ * <p>
+ * A list scrolled quickly marks messages a few at a time. Ids are collected until none come for the debounce window
+ * or until the batch is full, an id marked several times is reported once. Pending ids are persisted,
+ * so ids marked just before the process dies are reported after the next `init`.
+ * Callbacks of `markMessagesSeen` are invoked once the batch with their ids is reported.
+ * Without a debounce window each call is reported right away, one report after another.
+ */
+class MessageSeenReporter {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final String PREFERENCES_NAME = "org.infobip.reactlibrary.mobilemessaging.seenReports";
+    private static final String PENDING_IDS_KEY = "pendingIds";
+
+    private static final Object lock = new Object();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ExecutorService reportExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "RNMMSeenReports"));
+
+    private static long debounceMillis = 0;
+    private static int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private static Context context;
+
+    private static Set<String> pendingIds = new LinkedHashSet<>();
+    // Ids being reported, they stay persisted until the report completes
+    private static final Set<String> reportingIds = new HashSet<>();
+    private static List<Callback[]> pendingCallbacks = new ArrayList<>();
+    private static long firstPendingAtNanos;
+
+    private static final AtomicLong calls = new AtomicLong();
+    private static final AtomicLong markedIds = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong restoredIds = new AtomicLong();
+    private static final AtomicLong flushes = new AtomicLong();
+    private static final AtomicLong failedFlushes = new AtomicLong();
+    private static final AtomicLong reportedIds = new AtomicLong();
+    private static final AtomicLong maxFlushSize = new AtomicLong();
+    private static final AtomicLong totalFlushLatencyMicros = new AtomicLong();
+    private static final AtomicLong maxFlushLatencyMicros = new AtomicLong();
+
+    private static final Runnable flushRunnable = MessageSeenReporter::flush;
+
+    /**
+     * Applies configuration provided to `init` and takes over ids left pending by the previous process.
+     * They are reported on the next {@link #flush()}.
+     */
+    static void configure(Context appContext, Configuration.SeenReportingConfiguration configuration) {
+        synchronized (lock) {
+            context = appContext.getApplicationContext();
+            debounceMillis = configuration != null && configuration.debounceMillis != null ? Math.max(0, configuration.debounceMillis) : 0;
+            maxBatchSize = configuration != null && configuration.maxBatchSize != null && configuration.maxBatchSize > 0
+                    ? configuration.maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+            Set<String> persistedIds = preferences().getStringSet(PENDING_IDS_KEY, null);
+            if (persistedIds != null) {
+                for (String id : persistedIds) {
+                    if (pendingIds.isEmpty()) {
+                        firstPendingAtNanos = System.nanoTime();
+                    }
+                    if (pendingIds.add(id)) {
+                        restoredIds.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds ids to the pending batch, callbacks are invoked once they are reported.
+     */
+    static void markSeen(Context appContext, Collection<String> messageIds, Callback successCallback, Callback errorCallback) {
+        if (messageIds.isEmpty()) {
+            successCallback.invoke();
+            return;
+        }
+        synchronized (lock) {
+            if (context == null) {
+                context = appContext.getApplicationContext();
+            }
+            calls.incrementAndGet();
+            if (pendingIds.isEmpty()) {
+                firstPendingAtNanos = System.nanoTime();
+            }
+            for (String id : messageIds) {
+                markedIds.incrementAndGet();
+                if (!pendingIds.add(id)) {
+                    duplicates.incrementAndGet();
+                }
+            }
+            pendingCallbacks.add(new Callback[]{successCallback, errorCallback});
+            persistLocked();
+
+            mainHandler.removeCallbacks(flushRunnable);
+            if (debounceMillis <= 0 || pendingIds.size() >= maxBatchSize) {
+                flushLocked();
+            } else {
+                mainHandler.postDelayed(flushRunnable, debounceMillis);
+            }
+        }
+    }
+
+    /**
+     * Reports pending ids right away.
+     */
+    static void flush() {
+        synchronized (lock) {
+            flushLocked();
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        long flushCount = flushes.get();
+        synchronized (lock) {
+            return new JSONObject()
+                    .put("debounceMillis", debounceMillis)
+                    .put("maxBatchSize", maxBatchSize)
+                    .put("pending", pendingIds.size())
+                    .put("calls", calls.get())
+                    .put("markedIds", markedIds.get())
+                    .put("duplicates", duplicates.get())
+                    .put("restoredIds", restoredIds.get())
+                    .put("flushes", flushCount)
+                    .put("failedFlushes", failedFlushes.get())
+                    .put("reportedIds", reportedIds.get())
+                    .put("averageFlushSize", flushCount > 0 ? (double) reportedIds.get() / flushCount : 0)
+                    .put("maxFlushSize", maxFlushSize.get())
+                    .put("averageFlushLatencyMillis", flushCount > 0 ? totalFlushLatencyMicros.get() / 1000.0 / flushCount : 0)
+                    .put("maxFlushLatencyMillis", maxFlushLatencyMicros.get() / 1000.0);
+        }
+    }
+
+    private static void flushLocked() {
+        mainHandler.removeCallbacks(flushRunnable);
+        if (pendingIds.isEmpty() || context == null) {
+            return;
+        }
+        String[] ids = pendingIds.toArray(new String[0]);
+        List<Callback[]> callbacks = pendingCallbacks;
+        long latencyMicros = (System.nanoTime() - firstPendingAtNanos) / 1000;
+        Context flushContext = context;
+        pendingIds = new LinkedHashSet<>();
+        pendingCallbacks = new ArrayList<>();
+        Collections.addAll(reportingIds, ids);
+        reportExecutor.execute(() -> report(flushContext, ids, callbacks, latencyMicros));
+    }
+
+    private static void report(Context flushContext, String[] ids, List<Callback[]> callbacks, long latencyMicros) {
+        Exception error = null;
+        try {
+            MobileMessaging.getInstance(flushContext).setMessagesSeen(ids);
+        } catch (Exception e) {
+            error = e;
+            failedFlushes.incrementAndGet();
+            RNMMLogger.e(Utils.TAG, "Can't report " + ids.length + " seen messages", e);
+        }
+        flushes.incrementAndGet();
+        reportedIds.addAndGet(ids.length);
+        totalFlushLatencyMicros.addAndGet(latencyMicros);
+        EventCacheStats.updateMax(maxFlushSize, ids.length);
+        EventCacheStats.updateMax(maxFlushLatencyMicros, latencyMicros);
+        synchronized (lock) {
+            for (String id : ids) {
+                reportingIds.remove(id);
+            }
+            persistLocked();
+        }
+        for (Callback[] callback : callbacks) {
+            if (error == null) {
+                callback[0].invoke();
+            } else {
+                callback[1].invoke(Utils.callbackError(error.getMessage(), null));
+            }
+        }
+    }
+
+    private static void persistLocked() {
+        if (context == null) {
+            return;
+        }
+        Set<String> ids = new HashSet<>(pendingIds);
+        ids.addAll(reportingIds);
+        preferences().edit().putStringSet(PENDING_IDS_KEY, ids).apply();
+    }
+
+    private static SharedPreferences preferences() {
+        return context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,131 @@
+//
+//  MessageStorageExecutor.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.os.Process;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Runs default message storage calls on a small pool of background threads instead of the native modules thread,
+ * so storage I/O doesn't hold up unrelated bridge calls.
+ * <p>
+ * Reads run concurrently, writes run exclusively. The queue is bounded, calls which don't fit are rejected
+ * and reported to JS as errors rather than piling up behind a slow store.
+ */
+class MessageStorageExecutor {
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+            runnable -> new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "RNMMMessageStorage-" + threadCount.incrementAndGet()));
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static final AtomicLong submitted = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final AtomicLong reads = new AtomicLong();
+    private static final AtomicLong writes = new AtomicLong();
+    private static final AtomicLong queueHighWaterMark = new AtomicLong();
+    private static final AtomicLong totalWaitMicros = new AtomicLong();
+    private static final AtomicLong maxWaitMicros = new AtomicLong();
+    private static final AtomicLong totalRunMicros = new AtomicLong();
+    private static final AtomicLong maxRunMicros = new AtomicLong();
+
+    /**
+     * Queues a call which only reads the store, it may run concurrently with other reads.
+     *
+     * @return false if the queue is full and the call was rejected
+     */
+    static boolean read(Runnable task) {
+        return submit(lock.readLock(), reads, task);
+    }
+
+    /**
+     * Queues a call which modifies the store, it runs while no other call does.
+     *
+     * @return false if the queue is full and the call was rejected
+     */
+    static boolean write(Runnable task) {
+        return submit(lock.writeLock(), writes, task);
+    }
+
+    static JSONObject getStats() throws JSONException {
+        long completedCount = completed.get();
+        return new JSONObject()
+                .put("queueDepth", executor.getQueue().size())
+                .put("queueCapacity", QUEUE_CAPACITY)
+                .put("queueHighWaterMark", queueHighWaterMark.get())
+                .put("active", executor.getActiveCount())
+                .put("submitted", submitted.get())
+                .put("rejected", rejected.get())
+                .put("completed", completedCount)
+                .put("reads", reads.get())
+                .put("writes", writes.get())
+                .put("averageWaitMillis", completedCount > 0 ? totalWaitMicros.get() / completedCount / 1000.0 : 0)
+                .put("maxWaitMillis", maxWaitMicros.get() / 1000.0)
+                .put("averageRunMillis", completedCount > 0 ? totalRunMicros.get() / completedCount / 1000.0 : 0)
+                .put("maxRunMillis", maxRunMicros.get() / 1000.0);
+    }
+
+    private static boolean submit(Lock taskLock, AtomicLong kindCounter, Runnable task) {
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> run(taskLock, task, submittedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            RNMMLogger.w(Utils.TAG, "Message storage queue is full, rejecting call");
+            return false;
+        }
+        submitted.incrementAndGet();
+        kindCounter.incrementAndGet();
+        EventCacheStats.updateMax(queueHighWaterMark, executor.getQueue().size());
+        return true;
+    }
+
+    private static void run(Lock taskLock, Runnable task, long submittedAt) {
+        taskLock.lock();
+        long startedAt = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // Tasks report their own errors to JS, anything escaping them must not kill the storage thread
+            RNMMLogger.e(Utils.TAG, "Message storage call failed", e);
+        } finally {
+            taskLock.unlock();
+            long waitMicros = (startedAt - submittedAt) / 1000;
+            long runMicros = (System.nanoTime() - startedAt) / 1000;
+            totalWaitMicros.addAndGet(waitMicros);
+            EventCacheStats.updateMax(maxWaitMicros, waitMicros);
+            totalRunMicros.addAndGet(runMicros);
+            EventCacheStats.updateMax(maxRunMicros, runMicros);
+            completed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+//
+//  MessageStorageMirror.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import org.infobip.mobile.messaging.Message;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Native copy of the custom JS message storage, so native reads don't have to cross the bridge and parse the whole store.
+ * <p>
+ * Messages get here when they are saved to JS and when JS provides findAll results. The mirror answers reads
+ * only while it is known to hold the whole JS store: after a findAll result fitted into it and nothing has been evicted
+ * or invalidated since. Otherwise reads go to JS as before. Disabled unless configured.
+ */
+class MessageStorageMirror {
+    private static final long MESSAGE_OVERHEAD_BYTES = 256;
+
+    private static final Object lock = new Object();
+    // Access ordered, the eldest entry is the least recently used one
+    private static final LinkedHashMap<String, Entry> messages = new LinkedHashMap<>(16, 0.75f, true);
+    private static boolean enabled = false;
+    private static int maxMessages = 0;
+    private static long maxBytes = 0;
+    private static long bytes = 0;
+    private static boolean complete = false;
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    private static final AtomicLong invalidations = new AtomicLong();
+
+    private static class Entry {
+        final Message message;
+        final long cost;
+
+        Entry(Message message, long cost) {
+            this.message = message;
+            this.cost = cost;
+        }
+    }
+
+    static void configure(Configuration.MessageStorageMirrorConfiguration configuration) {
+        synchronized (lock) {
+            enabled = configuration != null;
+            maxMessages = configuration != null && configuration.maxMessages != null && configuration.maxMessages > 0 ? configuration.maxMessages : 0;
+            maxBytes = configuration != null && configuration.maxBytes != null && configuration.maxBytes > 0 ? configuration.maxBytes : 0;
+            clear();
+        }
+    }
+
+    /**
+     * Writes through messages being saved to JS. Mirror stays complete unless some message had to be evicted.
+     */
+    static void put(Collection<Message> saved) {
+        synchronized (lock) {
+            if (!enabled) {
+                return;
+            }
+            for (Message message : saved) {
+                putMessage(message);
+            }
+            trim();
+        }
+    }
+
+    /**
+     * Replaces the mirror with the full content of the JS store.
+     */
+    static void replaceAll(Collection<Message> all) {
+        synchronized (lock) {
+            if (!enabled) {
+                return;
+            }
+            clear();
+            for (Message message : all) {
+                putMessage(message);
+            }
+            complete = true;
+            trim();
+        }
+    }
+
+    /**
+     * @return all mirrored messages or null if the mirror may miss some of the stored ones
+     */
+    static List<Message> findAll() {
+        synchronized (lock) {
+            if (!enabled) {
+                return null;
+            }
+            if (!complete) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            List<Message> result = new ArrayList<>(messages.size());
+            for (Entry entry : messages.values()) {
+                result.add(entry.message);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @return count of stored messages or null if the mirror may miss some of them
+     */
+    static Long count() {
+        synchronized (lock) {
+            if (!enabled) {
+                return null;
+            }
+            if (!complete) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return (long) messages.size();
+        }
+    }
+
+    /**
+     * Drops mirrored messages, reads go to JS until the next findAll result. Has to be called whenever JS changes
+     * its store by itself, e.g. deletes messages.
+     */
+    static void invalidate() {
+        synchronized (lock) {
+            if (enabled) {
+                invalidations.incrementAndGet();
+            }
+            clear();
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        synchronized (lock) {
+            return new JSONObject()
+                    .put("enabled", enabled)
+                    .put("complete", complete)
+                    .put("size", messages.size())
+                    .put("bytes", bytes)
+                    .put("maxMessages", maxMessages)
+                    .put("maxBytes", maxBytes)
+                    .put("hits", hits.get())
+                    .put("misses", misses.get())
+                    .put("evictions", evictions.get())
+                    .put("invalidations", invalidations.get());
+        }
+    }
+
+    private static void putMessage(Message message) {
+        if (message == null || message.getMessageId() == null) {
+            return;
+        }
+        Entry entry = new Entry(message, estimateCost(message));
+        Entry previous = messages.put(message.getMessageId(), entry);
+        if (previous != null) {
+            bytes -= previous.cost;
+        }
+        bytes += entry.cost;
+    }
+
+    private static void trim() {
+        Iterator<Map.Entry<String, Entry>> iterator = messages.entrySet().iterator();
+        while (iterator.hasNext() && ((maxMessages > 0 && messages.size() > maxMessages) || (maxBytes > 0 && bytes > maxBytes))) {
+            bytes -= iterator.next().getValue().cost;
+            iterator.remove();
+            evictions.incrementAndGet();
+            // Evicted message is still in JS, so the mirror no longer knows the whole store
+            complete = false;
+        }
+    }
+
+    private static void clear() {
+        messages.clear();
+        bytes = 0;
+        complete = false;
+    }
+
+    private static long estimateCost(Message message) {
+        long cost = MESSAGE_OVERHEAD_BYTES;
+        String[] strings = {
+                message.getMessageId(), message.getTitle(), message.getBody(), message.getSound(), message.getIcon(),
+                message.getCategory(), message.getFrom(), message.getContentUrl(), message.getWebViewUrl(),
+                message.getBrowserUrl(), message.getDeeplink()
+        };
+        for (String value : strings) {
+            if (value != null) {
+                cost += 40 + 2L * value.length();
+            }
+        }
+        if (message.getCustomPayload() != null) {
+            // Same rough estimate of parsed JSON as for cached events
+            cost += 4L * message.getCustomPayload().toString().length();
+        }
+        return cost;
+    }
+}
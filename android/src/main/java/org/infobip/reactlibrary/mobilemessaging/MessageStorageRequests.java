@@ -0,0 +1,79 @@
+//
+//  MessageStorageRequests.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests the native side makes to the JS message storage, each waiting for the result JS provides for its id.
+ * <p>
+ * JS answers asynchronously, so a result is matched to its request by the id it was sent with,
+ * and results coming after their request timed out are dropped instead of being taken for the answer to a later one.
+ */
+class MessageStorageRequests {
+    private static final AtomicLong lastId = new AtomicLong();
+    private static final Map<String, Request> pending = new ConcurrentHashMap<>();
+
+    static class Request {
+        final String id;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Object result;
+
+        private Request(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Waits for JS to provide the result. The request is closed afterwards, whether the result came or not.
+         *
+         * @return provided result or null if it didn't come in time
+         */
+        Object await(long timeoutMillis) {
+            try {
+                if (!completed.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    RNMMLogger.w(Utils.TAG, "Message storage request " + id + " timed out after " + timeoutMillis + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                pending.remove(id);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Opens a request, which has to be sent to JS with its id and then awaited.
+     */
+    static Request open() {
+        Request request = new Request(Long.toString(lastId.incrementAndGet()));
+        pending.put(request.id, request);
+        return request;
+    }
+
+    /**
+     * Completes the request with the result provided by JS.
+     *
+     * @return false if there is no such request, e.g. because it already timed out
+     */
+    static boolean complete(String id, Object result) {
+        Request request = id != null ? pending.remove(id) : null;
+        if (request == null) {
+            RNMMLogger.w(Utils.TAG, "Dropping message storage result of unknown or expired request " + id);
+            return false;
+        }
+        request.result = result;
+        request.completed.countDown();
+        return true;
+    }
+}
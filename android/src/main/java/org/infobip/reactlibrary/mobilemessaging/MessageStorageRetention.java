@@ -0,0 +1,160 @@
+//
+//  MessageStorageRetention.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the default message storage within the retention limits configured in `init`.
+ * <p>
+ * A run starts shortly after `init` and then once per interval. It removes the oldest messages breaking the limits
+ * in small batches, each one a separate call on the storage executor, so bridge calls are served between them.
+ * Disabled unless some limit is configured.
+ */
+class MessageStorageRetention {
+    private static final int BATCH_SIZE = 100;
+    private static final long INITIAL_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long RUN_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final Object lock = new Object();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final DefaultMessageStore store = new DefaultMessageStore();
+
+    private static DefaultMessageStore.RetentionPolicy policy;
+    private static Context context;
+    // Incremented on every configuration, so that batches of a run started before it stop
+    private static long generation = 0;
+    private static boolean running = false;
+    private static long runStartedAt;
+    private static int removedInRun;
+
+    private static final AtomicLong runs = new AtomicLong();
+    private static final AtomicLong removed = new AtomicLong();
+    private static final AtomicLong failedRuns = new AtomicLong();
+    private static volatile int lastRunRemoved = 0;
+    private static volatile long lastRunMillis = 0;
+    private static volatile long lastRunFinishedAt = 0;
+
+    private static final Runnable runRunnable = MessageStorageRetention::startRun;
+
+    /**
+     * Applies retention configuration provided to `init`, null disables retention.
+     */
+    static void configure(Context appContext, Configuration.MessageStorageRetentionConfiguration configuration) {
+        synchronized (lock) {
+            mainHandler.removeCallbacks(runRunnable);
+            generation++;
+            running = false;
+            policy = resolvePolicy(configuration);
+            context = appContext.getApplicationContext();
+            if (policy != null) {
+                mainHandler.postDelayed(runRunnable, INITIAL_DELAY_MILLIS);
+            }
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        synchronized (lock) {
+            return new JSONObject()
+                    .put("enabled", policy != null)
+                    .put("running", running)
+                    .put("runs", runs.get())
+                    .put("failedRuns", failedRuns.get())
+                    .put("removed", removed.get())
+                    .put("lastRunRemoved", lastRunRemoved)
+                    .put("lastRunMillis", lastRunMillis)
+                    .put("lastRunFinishedAt", lastRunFinishedAt);
+        }
+    }
+
+    private static DefaultMessageStore.RetentionPolicy resolvePolicy(Configuration.MessageStorageRetentionConfiguration configuration) {
+        if (configuration == null) {
+            return null;
+        }
+        Integer maxMessages = configuration.maxMessages != null && configuration.maxMessages >= 0 ? configuration.maxMessages : null;
+        Long maxAgeMillis = configuration.maxAgeSeconds != null && configuration.maxAgeSeconds > 0
+                ? TimeUnit.SECONDS.toMillis(configuration.maxAgeSeconds) : null;
+        Long maxBytes = configuration.maxBytes != null && configuration.maxBytes >= 0 ? configuration.maxBytes : null;
+        if (maxMessages == null && maxAgeMillis == null && maxBytes == null) {
+            return null;
+        }
+        return new DefaultMessageStore.RetentionPolicy(maxMessages, maxAgeMillis, maxBytes);
+    }
+
+    private static void startRun() {
+        synchronized (lock) {
+            if (policy == null || running) {
+                return;
+            }
+            running = true;
+            runStartedAt = System.currentTimeMillis();
+            removedInRun = 0;
+            submitBatchLocked();
+        }
+    }
+
+    private static void submitBatchLocked() {
+        long batchGeneration = generation;
+        DefaultMessageStore.RetentionPolicy batchPolicy = policy;
+        Context batchContext = context;
+        if (!MessageStorageExecutor.write(() -> runBatch(batchGeneration, batchPolicy, batchContext))) {
+            // Storage is busy with bridge calls, the rest is removed by the next run
+            finishRunLocked(false);
+        }
+    }
+
+    private static void runBatch(long batchGeneration, DefaultMessageStore.RetentionPolicy batchPolicy, Context batchContext) {
+        int batchRemoved;
+        try {
+            batchRemoved = store.trim(batchContext, batchPolicy, System.currentTimeMillis(), BATCH_SIZE);
+        } catch (RuntimeException e) {
+            RNMMLogger.e(Utils.TAG, "Message storage retention failed", e);
+            synchronized (lock) {
+                if (batchGeneration == generation) {
+                    finishRunLocked(false);
+                }
+            }
+            return;
+        }
+        synchronized (lock) {
+            removed.addAndGet(batchRemoved);
+            if (batchGeneration != generation) {
+                return;
+            }
+            removedInRun += batchRemoved;
+            if (batchRemoved > 0) {
+                submitBatchLocked();
+            } else {
+                finishRunLocked(true);
+            }
+        }
+    }
+
+    private static void finishRunLocked(boolean completed) {
+        running = false;
+        runs.incrementAndGet();
+        if (!completed) {
+            failedRuns.incrementAndGet();
+        }
+        lastRunRemoved = removedInRun;
+        lastRunFinishedAt = System.currentTimeMillis();
+        lastRunMillis = lastRunFinishedAt - runStartedAt;
+        RNMMLogger.i(Utils.TAG, "Message storage retention removed " + removedInRun + " messages in " + lastRunMillis + " ms"
+                + (completed ? "" : ", the rest is left for the next run"));
+        mainHandler.postDelayed(runRunnable, RUN_INTERVAL_MILLIS);
+    }
+}
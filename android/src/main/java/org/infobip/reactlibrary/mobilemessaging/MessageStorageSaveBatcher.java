@@ -0,0 +1,140 @@
+//
+//  MessageStorageSaveBatcher.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import org.infobip.mobile.messaging.Message;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges messages the SDK saves to the custom JS message storage within a short window into a single save event.
+ * <p>
+ * During a sync the SDK saves messages one by one, which would otherwise make a broadcast and a JS event of each.
+ * A message saved again within the window replaces its pending copy. The window starts with the first pending
+ * message and isn't prolonged by later ones, and a batch reaching the size cap is sent right away.
+ * Disabled unless a window is configured.
+ */
+class MessageStorageSaveBatcher {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private static final Object lock = new Object();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private static long windowMillis = 0;
+    private static int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    // Keyed by message id, so that a message saved again keeps its place and only its latest copy is sent
+    private static Map<Object, Message> pendingMessages = new LinkedHashMap<>();
+    private static Context pendingContext;
+    private static long firstPendingAtNanos;
+
+    private static final AtomicLong batches = new AtomicLong();
+    private static final AtomicLong batchedMessages = new AtomicLong();
+    private static final AtomicLong duplicates = new AtomicLong();
+    private static final AtomicLong fullBatches = new AtomicLong();
+    private static final AtomicLong maxSentBatchSize = new AtomicLong();
+    private static final AtomicLong totalFlushLatencyMicros = new AtomicLong();
+    private static final AtomicLong maxFlushLatencyMicros = new AtomicLong();
+
+    private static final Runnable flushRunnable = MessageStorageSaveBatcher::flush;
+
+    /**
+     * Applies batching configuration provided to `init`, pending messages are sent first.
+     */
+    static void configure(Configuration.MessageStorageSaveBatchingConfiguration configuration) {
+        flush();
+        synchronized (lock) {
+            windowMillis = configuration != null && configuration.windowMillis != null ? Math.max(0, configuration.windowMillis) : 0;
+            maxBatchSize = configuration != null && configuration.maxBatchSize != null && configuration.maxBatchSize > 0
+                    ? configuration.maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+        }
+    }
+
+    /**
+     * Sends the messages to JS storage or adds them to the pending batch.
+     */
+    static void save(Context context, Collection<Message> messages) {
+        synchronized (lock) {
+            if (windowMillis <= 0) {
+                ReactNativeMobileMessagingService.MessageStoreAdapter.sendSave(context, new ArrayList<>(messages));
+                return;
+            }
+            pendingContext = context.getApplicationContext();
+            for (Message message : messages) {
+                if (pendingMessages.isEmpty()) {
+                    firstPendingAtNanos = System.nanoTime();
+                    mainHandler.postDelayed(flushRunnable, windowMillis);
+                }
+                Object key = message.getMessageId() != null ? message.getMessageId() : message;
+                if (pendingMessages.put(key, message) != null) {
+                    duplicates.incrementAndGet();
+                }
+                if (pendingMessages.size() >= maxBatchSize) {
+                    fullBatches.incrementAndGet();
+                    flushLocked();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends pending messages right away. Has to be called before reading JS storage, so that reads see all saved messages.
+     */
+    static void flush() {
+        synchronized (lock) {
+            flushLocked();
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        long batchCount = batches.get();
+        synchronized (lock) {
+            return new JSONObject()
+                    .put("windowMillis", windowMillis)
+                    .put("maxBatchSize", maxBatchSize)
+                    .put("pending", pendingMessages.size())
+                    .put("batches", batchCount)
+                    .put("batchedMessages", batchedMessages.get())
+                    .put("duplicates", duplicates.get())
+                    .put("fullBatches", fullBatches.get())
+                    .put("averageBatchSize", batchCount > 0 ? (double) batchedMessages.get() / batchCount : 0)
+                    .put("maxSentBatchSize", maxSentBatchSize.get())
+                    .put("averageFlushLatencyMillis", batchCount > 0 ? totalFlushLatencyMicros.get() / 1000.0 / batchCount : 0)
+                    .put("maxFlushLatencyMillis", maxFlushLatencyMicros.get() / 1000.0);
+        }
+    }
+
+    private static void flushLocked() {
+        mainHandler.removeCallbacks(flushRunnable);
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+        ArrayList<Message> messages = new ArrayList<>(pendingMessages.values());
+        pendingMessages = new LinkedHashMap<>();
+
+        long latencyMicros = (System.nanoTime() - firstPendingAtNanos) / 1000;
+        batches.incrementAndGet();
+        batchedMessages.addAndGet(messages.size());
+        totalFlushLatencyMicros.addAndGet(latencyMicros);
+        EventCacheStats.updateMax(maxSentBatchSize, messages.size());
+        EventCacheStats.updateMax(maxFlushLatencyMicros, latencyMicros);
+
+        ReactNativeMobileMessagingService.MessageStoreAdapter.sendSave(pendingContext, messages);
+    }
+}
@@ -0,0 +1,409 @@
+//
+//  OutboundEventQueue.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import android.os.Looper;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of events on their way to JS, drained on the JS queue thread.
+ * <p>
+ * While the JS thread is busy the queue fills up instead of React's own queue, and once it's full
+ * the overflow policy of the incoming event type decides what gets dropped, the oldest droppable event by default.
+ * Taps and message storage requests, which JS has to see, are never dropped and may exceed the capacity.
+ * Events of a batch are queued one by one, so the capacity and overflow policies apply to each of them,
+ * and the ones which are drained together are emitted as a single batch event.
+ * The 'block' policy never blocks the main thread or the JS thread, events offered there are dropped instead.
+ * <p>
+ * Disabled unless a capacity is configured, events are then emitted right away as React queues them.
+ * Events queued for a React context which has been replaced by a new one are dropped.
+ */
+class OutboundEventQueue {
+    private static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 50;
+
+    enum OverflowPolicy {
+        // Wait for the queue to drain, drop the new event on timeout
+        BLOCK,
+        DROP_OLDEST,
+        DROP_NEWEST,
+        // Replace the payload of a queued event of the same type, drop the oldest event if there is none
+        COALESCE
+    }
+
+    private static final Object lock = new Object();
+    private static final Map<String, OverflowPolicy> defaultPolicies = new HashMap<>();
+    private static final Set<String> unboundedEvents = new HashSet<>();
+
+    static {
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_PLATFORM_NATIVE_LOG_SENT, OverflowPolicy.DROP_OLDEST);
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_INSTALLATION_UPDATED, OverflowPolicy.COALESCE);
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_USER_UPDATED, OverflowPolicy.COALESCE);
+        defaultPolicies.put(ReactNativeMobileMessagingService.EVENT_INAPPCHAT_UNREAD_MESSAGES_COUNT_UPDATED, OverflowPolicy.COALESCE);
+
+        unboundedEvents.add(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED);
+        unboundedEvents.add(ReactNativeMobileMessagingService.EVENT_NOTIFICATION_ACTION_TAPPED);
+        unboundedEvents.add(ReactNativeMobileMessagingService.MessageStoreAdapter.EVENT_MESSAGESTORAGE_START);
+        unboundedEvents.add(ReactNativeMobileMessagingService.MessageStoreAdapter.EVENT_MESSAGESTORAGE_SAVE);
+        unboundedEvents.add(ReactNativeMobileMessagingService.MessageStoreAdapter.EVENT_MESSAGESTORAGE_FIND_ALL);
+        unboundedEvents.add(ReactNativeMobileMessagingService.MessageStoreAdapter.EVENT_MESSAGESTORAGE_COUNT);
+    }
+
+    private static volatile boolean enabled = false;
+    private static int capacity = 0;
+    private static long blockTimeoutMillis = DEFAULT_BLOCK_TIMEOUT_MILLIS;
+    private static final OverflowPolicy DEFAULT_POLICY = OverflowPolicy.DROP_OLDEST;
+    private static Map<String, OverflowPolicy> policies = new HashMap<>(defaultPolicies);
+
+    private static final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    // Tracked per context, a drain posted to the JS thread of a destroyed context never runs
+    private static final Set<ReactContext> drainScheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static ReactContext currentContext;
+    private static final AtomicLong droppedStale = new AtomicLong();
+
+    private static final AtomicLong overflows = new AtomicLong();
+    private static final AtomicLong blocked = new AtomicLong();
+    private static final AtomicLong blockedMillis = new AtomicLong();
+    private static final AtomicLong droppedOldest = new AtomicLong();
+    private static final AtomicLong droppedNewest = new AtomicLong();
+    private static final AtomicLong coalesced = new AtomicLong();
+    private static final AtomicLong highWaterMark = new AtomicLong();
+
+    private static class Entry {
+        final String name;
+        final ReactContext reactContext;
+        // Shared by entries offered as one batch, null for events emitted on their own
+        final Object batch;
+        Object payload;
+
+        Entry(String name, ReactContext reactContext, Object payload, Object batch) {
+            this.name = name;
+            this.reactContext = reactContext;
+            this.payload = payload;
+            this.batch = batch;
+        }
+    }
+
+    /**
+     * Applies queue configuration provided to `init`. Types without configured policy keep their defaults.
+     */
+    static void configure(Configuration.EventDispatchConfiguration configuration) {
+        synchronized (lock) {
+            enabled = false;
+            capacity = 0;
+            blockTimeoutMillis = DEFAULT_BLOCK_TIMEOUT_MILLIS;
+            policies = new HashMap<>(defaultPolicies);
+            if (configuration == null) {
+                return;
+            }
+            if (configuration.queueCapacity != null && configuration.queueCapacity > 0) {
+                enabled = true;
+                capacity = configuration.queueCapacity;
+            }
+            if (configuration.blockTimeoutMillis != null) {
+                blockTimeoutMillis = Math.max(0, configuration.blockTimeoutMillis);
+            }
+            if (configuration.overflow != null) {
+                for (Map.Entry<String, String> entry : configuration.overflow.entrySet()) {
+                    OverflowPolicy policy = parsePolicy(entry.getValue());
+                    if (policy != null) {
+                        policies.put(entry.getKey(), policy);
+                    } else {
+                        RNMMLogger.w(Utils.TAG, "Unknown overflow policy " + entry.getValue() + " for " + entry.getKey());
+                    }
+                }
+            }
+        }
+    }
+
+    static void offer(String eventName, ReactContext reactContext, Object payload) {
+        if (!enabled) {
+            emit(new Entry(eventName, reactContext, payload, null));
+            return;
+        }
+        synchronized (lock) {
+            if (currentContext != reactContext) {
+                dropStaleLocked(reactContext);
+            }
+            if (offerLocked(new Entry(eventName, reactContext, payload, null))) {
+                scheduleDrainLocked(reactContext);
+            }
+        }
+    }
+
+    /**
+     * Queues events which JS receives as a single batch event.
+     *
+     * @param names    event names
+     * @param payloads payloads of the events, {@link ReadableMap}, {@link ReadableArray} or null
+     */
+    static void offerBatch(List<String> names, List<Object> payloads, ReactContext reactContext) {
+        Object batch = new Object();
+        List<Entry> entries = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            entries.add(new Entry(names.get(i), reactContext, payloads.get(i), batch));
+        }
+        if (!enabled) {
+            emitBatch(entries);
+            return;
+        }
+        synchronized (lock) {
+            if (currentContext != reactContext) {
+                dropStaleLocked(reactContext);
+            }
+            boolean queued = false;
+            for (Entry entry : entries) {
+                queued |= offerLocked(entry);
+            }
+            if (queued) {
+                scheduleDrainLocked(reactContext);
+            }
+        }
+    }
+
+    static JSONObject getStats() throws JSONException {
+        int size;
+        synchronized (lock) {
+            size = queue.size();
+        }
+        return new JSONObject()
+                .put("enabled", enabled)
+                .put("size", size)
+                .put("capacity", capacity)
+                .put("highWaterMark", highWaterMark.get())
+                .put("backpressureEvents", overflows.get())
+                .put("blocked", blocked.get())
+                .put("blockedMillis", blockedMillis.get())
+                .put("droppedOldest", droppedOldest.get())
+                .put("droppedNewest", droppedNewest.get())
+                .put("coalesced", coalesced.get())
+                .put("droppedStale", droppedStale.get());
+    }
+
+    /**
+     * @return true if the entry was queued, false if it was dropped or merged into a queued one
+     */
+    private static boolean offerLocked(Entry entry) {
+        if (queue.size() >= capacity && !unboundedEvents.contains(entry.name) && !makeRoom(entry.name, entry.reactContext, entry.payload)) {
+            return false;
+        }
+        queue.addLast(entry);
+        EventCacheStats.updateMax(highWaterMark, queue.size());
+        return true;
+    }
+
+    /**
+     * Applies the overflow policy of the event type to a full queue.
+     *
+     * @return true if the new event should be queued, false if it was dropped or merged into a queued one
+     */
+    private static boolean makeRoom(String eventName, ReactContext reactContext, Object payload) {
+        overflows.incrementAndGet();
+        OverflowPolicy policy = policies.get(eventName);
+        if (policy == null) {
+            policy = DEFAULT_POLICY;
+        }
+        switch (policy) {
+            case COALESCE:
+                Iterator<Entry> iterator = queue.descendingIterator();
+                while (iterator.hasNext()) {
+                    Entry queued = iterator.next();
+                    if (queued.name.equals(eventName) && queued.reactContext == reactContext) {
+                        queued.payload = payload;
+                        coalesced.incrementAndGet();
+                        return false;
+                    }
+                }
+                return dropOldest();
+            case DROP_NEWEST:
+                droppedNewest.incrementAndGet();
+                RNMMLogger.w(Utils.TAG, "Outbound event queue is full, dropping event: " + eventName);
+                return false;
+            case BLOCK:
+                // Waiting on the JS thread itself would never end, it's the one draining the queue,
+                // and the main thread must never wait for JS
+                if (!reactContext.isOnJSQueueThread() && Looper.myLooper() != Looper.getMainLooper() && awaitRoom()) {
+                    return true;
+                }
+                droppedNewest.incrementAndGet();
+                RNMMLogger.w(Utils.TAG, "Outbound event queue is still full, dropping event: " + eventName);
+                return false;
+            case DROP_OLDEST:
+            default:
+                return dropOldest();
+        }
+    }
+
+    private static boolean awaitRoom() {
+        blocked.incrementAndGet();
+        long startedAt = System.currentTimeMillis();
+        long remaining = blockTimeoutMillis;
+        try {
+            while (queue.size() >= capacity && remaining > 0) {
+                lock.wait(remaining);
+                remaining = blockTimeoutMillis - (System.currentTimeMillis() - startedAt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        blockedMillis.addAndGet(System.currentTimeMillis() - startedAt);
+        return queue.size() < capacity;
+    }
+
+    private static boolean dropOldest() {
+        Iterator<Entry> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Entry queued = iterator.next();
+            if (!unboundedEvents.contains(queued.name)) {
+                iterator.remove();
+                droppedOldest.incrementAndGet();
+                RNMMLogger.w(Utils.TAG, "Outbound event queue is full, dropping oldest event: " + queued.name);
+                return true;
+            }
+        }
+        // Queue is taken by events which are never dropped
+        droppedNewest.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Drops events queued for contexts other than the given one, which replaced them.
+     */
+    private static void dropStaleLocked(ReactContext reactContext) {
+        currentContext = reactContext;
+        drainScheduled.retainAll(Collections.singleton(reactContext));
+        Iterator<Entry> iterator = queue.iterator();
+        int dropped = 0;
+        while (iterator.hasNext()) {
+            if (iterator.next().reactContext != reactContext) {
+                iterator.remove();
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            droppedStale.addAndGet(dropped);
+            RNMMLogger.w(Utils.TAG, "React context was recreated, dropping " + dropped + " events queued for the old one");
+            lock.notifyAll();
+        }
+    }
+
+    private static void scheduleDrainLocked(ReactContext reactContext) {
+        if (!drainScheduled.add(reactContext)) {
+            return;
+        }
+        try {
+            reactContext.runOnJSQueueThread(() -> drain(reactContext));
+        } catch (RuntimeException e) {
+            // JS queue thread isn't available, nothing to queue for
+            drainScheduled.remove(reactContext);
+            emitAll(takeLocked(reactContext));
+        }
+    }
+
+    private static void drain(ReactContext reactContext) {
+        List<Entry> entries;
+        synchronized (lock) {
+            drainScheduled.remove(reactContext);
+            entries = takeLocked(reactContext);
+        }
+        emitAll(entries);
+    }
+
+    /**
+     * Emits entries in order, consecutive entries of the same batch as a single batch event.
+     */
+    private static void emitAll(List<Entry> entries) {
+        int start = 0;
+        while (start < entries.size()) {
+            Object batch = entries.get(start).batch;
+            int end = start + 1;
+            while (batch != null && end < entries.size() && entries.get(end).batch == batch) {
+                end++;
+            }
+            if (end - start > 1) {
+                emitBatch(entries.subList(start, end));
+            } else {
+                emit(entries.get(start));
+            }
+            start = end;
+        }
+    }
+
+    private static List<Entry> takeLocked(ReactContext reactContext) {
+        List<Entry> taken = new ArrayList<>(queue.size());
+        Iterator<Entry> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.reactContext == reactContext) {
+                taken.add(entry);
+                iterator.remove();
+            }
+        }
+        lock.notifyAll();
+        return taken;
+    }
+
+    private static void emit(Entry entry) {
+        entry.reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(entry.name, entry.payload);
+    }
+
+    private static void emitBatch(List<Entry> entries) {
+        WritableArray batch = new WritableNativeArray();
+        for (Entry entry : entries) {
+            WritableArray event = new WritableNativeArray();
+            event.pushString(entry.name);
+            if (entry.payload instanceof ReadableMap) {
+                event.pushMap((ReadableMap) entry.payload);
+            } else if (entry.payload instanceof ReadableArray) {
+                event.pushArray((ReadableArray) entry.payload);
+            } else {
+                event.pushNull();
+            }
+            batch.pushArray(event);
+        }
+        ReactContext reactContext = entries.get(0).reactContext;
+        reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(ReactNativeMobileMessagingService.EVENT_EVENTS_BATCH, batch);
+    }
+
+    private static OverflowPolicy parsePolicy(String policy) {
+        switch (policy.toLowerCase()) {
+            case "block":
+                return OverflowPolicy.BLOCK;
+            case "dropoldest":
+                return OverflowPolicy.DROP_OLDEST;
+            case "dropnewest":
+                return OverflowPolicy.DROP_NEWEST;
+            case "coalesce":
+                return OverflowPolicy.COALESCE;
+            default:
+                return null;
+        }
+    }
+}
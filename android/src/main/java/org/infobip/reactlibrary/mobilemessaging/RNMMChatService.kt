@@ -397,6 +397,7 @@ class RNMMChatEventReceiver : ReactNativeBroadcastReceiver() {
     // null (e.g. during lifecycle transitions), events are cached regardless of jsHasListeners
     // since sending requires a valid ReactContext. This preserves the original behavior.
     private fun emitOrCache(context: Context?, eventType: String, unreadMessagesCounter: Int) {
+        CacheManager.init(context)
         if (!pluginInitialized) {
             CacheManager.saveEvent(eventType, unreadMessagesCounter)
             return
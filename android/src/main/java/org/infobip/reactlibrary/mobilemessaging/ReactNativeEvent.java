@@ -14,13 +14,16 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableNativeArray;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import org.infobip.reactlibrary.mobilemessaging.datamappers.MessageMapper;
 import org.infobip.reactlibrary.mobilemessaging.datamappers.ReactNativeJson;
+import org.infobip.reactlibrary.mobilemessaging.datamappers.ReactNativeJsonReader;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+
 
 class ReactNativeEvent {
 
@@ -35,6 +38,67 @@ class ReactNativeEvent {
             return;
         }
 
+        send(eventName, reactContext, toArguments(jsonObject, objects));
+    }
+
+    /**
+     * Sends a message event, message map is sent as the first argument followed by provided objects.
+     */
+    static void sendMessage(String eventName, ReactContext reactContext, ReadableMap message, Object... objects) {
+        send(eventName, reactContext, mapArguments(message, objects));
+    }
+
+    static void send(CacheManager.Event event, ReactContext reactContext) {
+        send(event.type, reactContext, toArguments(event));
+    }
+
+    /**
+     * Sends all provided cached events of one type as a single batch event, which JS unpacks and re-emits one by one.
+     * Batch payload is an array of {@code [eventName, arguments]} pairs, in the order events were cached.
+     */
+    static void sendBatch(String eventName, ReactContext reactContext, CacheManager.Event[] events) {
+        if (eventName == null || events == null || events.length == 0) {
+            return;
+        }
+        WritableArray batch = new WritableNativeArray();
+        for (CacheManager.Event event : events) {
+            WritableArray entry = new WritableNativeArray();
+            entry.pushString(eventName);
+            entry.pushArray(toArguments(event));
+            batch.pushArray(entry);
+        }
+        send(ReactNativeMobileMessagingService.EVENT_EVENTS_BATCH, reactContext, batch);
+    }
+
+    /**
+     * Cached message events are written straight from their marshalled bundle, events restored from the journal
+     * straight from their JSON text, other events from their JSON.
+     */
+    static WritableArray toArguments(CacheManager.Event event) {
+        if (event.jsonObject == null && event.payload != null) {
+            return mapArguments(MessageMapper.bundleToMap(CacheManager.unmarshall(event.payload)), event.objects);
+        }
+        if (event.jsonObject == null && event.jsonText != null) {
+            try {
+                return mapArguments(ReactNativeJsonReader.readMap(event.jsonText), event.objects);
+            } catch (IOException | RuntimeException e) {
+                RNMMLogger.e(Utils.TAG, "Cached event " + event.type + " can't be converted to JS types");
+                return toArguments(null, event.objects);
+            }
+        }
+        return toArguments(event.json(), event.objects);
+    }
+
+    private static WritableArray mapArguments(ReadableMap map, Object[] objects) {
+        Object[] arguments = new Object[(objects != null ? objects.length : 0) + 1];
+        arguments[0] = map;
+        if (objects != null) {
+            System.arraycopy(objects, 0, arguments, 1, objects.length);
+        }
+        return toArguments(null, arguments);
+    }
+
+    static WritableArray toArguments(JSONObject jsonObject, Object... objects) {
         WritableArray array = new WritableNativeArray();
 
         try {
@@ -43,11 +107,13 @@ class ReactNativeEvent {
                 array.pushMap(ReactNativeJson.convertJsonToMap(jsonObject));
             }
 
-            for (Object value : objects) {
+            for (Object value : objects != null ? objects : new Object[0]) {
                 if (value == null) {
                     continue;
                 }
-                if (value instanceof JSONObject) {
+                if (value instanceof ReadableMap) {
+                    array.pushMap((ReadableMap) value);
+                } else if (value instanceof JSONObject) {
                     array.pushMap(ReactNativeJson.convertJsonToMap((JSONObject) value));
                 } else if (value instanceof JSONArray) {
                     array.pushArray(ReactNativeJson.convertJsonToArray((JSONArray) value));
@@ -66,7 +132,7 @@ class ReactNativeEvent {
         } catch (JSONException e) {
             RNMMLogger.e(Utils.TAG, "Arguments can't be converted to JS types");
         }
-        send(eventName, reactContext, array);
+        return array;
     }
 
     static void send(String eventName, ReactContext reactContext, ReadableMap map) {
@@ -78,7 +144,7 @@ class ReactNativeEvent {
             return;
         }
 
-        reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, map);
+        EventDispatcher.emit(eventName, reactContext, map);
     }
 
     static void send(String eventName, ReactContext reactContext, ReadableArray array) {
@@ -90,7 +156,7 @@ class ReactNativeEvent {
             return;
         }
 
-        reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, array);
+        EventDispatcher.emit(eventName, reactContext, array);
     }
 
     static void send(String eventName, ReactContext reactContext) {
@@ -101,7 +167,7 @@ class ReactNativeEvent {
             RNMMLogger.e(Utils.TAG, "reactContext is null, can't send event " + eventName);
             return;
         }
-        reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, null);
+        EventDispatcher.emit(eventName, reactContext, null);
     }
 
 }
@@ -20,6 +20,7 @@ import android.content.IntentFilter
 import android.graphics.Color
 import android.os.Build
 import android.os.Bundle
+import android.os.Looper
 
 import androidx.localbroadcastmanager.content.LocalBroadcastManager
 
@@ -64,21 +65,17 @@ import org.infobip.mobile.messaging.plugins.MessageJson
 import org.infobip.mobile.messaging.plugins.PersonalizationCtx
 import org.infobip.mobile.messaging.plugins.UserJson
 import org.infobip.mobile.messaging.storage.MessageStore
-import org.infobip.mobile.messaging.storage.SQLiteMessageStore
 import org.infobip.mobile.messaging.util.Cryptor
 import org.infobip.mobile.messaging.util.DeviceInformation
 import org.infobip.mobile.messaging.util.PreferenceHelper
 import org.infobip.mobile.messaging.plugins.InstallationJson
 
+import org.infobip.reactlibrary.mobilemessaging.datamappers.MessageMapper
 import org.infobip.reactlibrary.mobilemessaging.datamappers.ReactNativeJson
 
 import org.json.JSONArray
 import org.json.JSONException
-import org.json.JSONObject
 import java.util.concurrent.CopyOnWriteArrayList
-import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 import kotlin.collections.isNotEmpty
 
 class ReactNativeMobileMessagingService(
@@ -100,6 +97,7 @@ class ReactNativeMobileMessagingService(
         const val EVENT_MESSAGE_RECEIVED = "messageReceived"
 
         const val EVENT_PLATFORM_NATIVE_LOG_SENT = "internal.platformNativeLogSent"
+        const val EVENT_EVENTS_BATCH = "internal.eventsBatch"
 
         const val EVENT_INAPPCHAT_UNREAD_MESSAGES_COUNT_UPDATED = "inAppChat.unreadMessageCounterUpdated"
         const val EVENT_INAPPCHAT_VIEW_STATE_CHANGED = "inAppChat.viewStateChanged"
@@ -115,6 +113,11 @@ class ReactNativeMobileMessagingService(
         @Volatile
         var pluginInitialized = false
 
+        // Set once JS subscribes to batch events, which means it is able to unpack them
+        @JvmStatic
+        @Volatile
+        var jsSupportsEventBatches = false
+
         @Volatile
         var lastReactContext: ReactApplicationContext? = null
 
@@ -137,7 +140,8 @@ class ReactNativeMobileMessagingService(
         private val messageStorageEventMap = mapOf(
             MessageStoreAdapter.EVENT_MESSAGESTORAGE_START to MessageStoreAdapter.EVENT_MESSAGESTORAGE_START,
             MessageStoreAdapter.EVENT_MESSAGESTORAGE_SAVE to MessageStoreAdapter.EVENT_MESSAGESTORAGE_SAVE,
-            MessageStoreAdapter.EVENT_MESSAGESTORAGE_FIND_ALL to MessageStoreAdapter.EVENT_MESSAGESTORAGE_FIND_ALL
+            MessageStoreAdapter.EVENT_MESSAGESTORAGE_FIND_ALL to MessageStoreAdapter.EVENT_MESSAGESTORAGE_FIND_ALL,
+            MessageStoreAdapter.EVENT_MESSAGESTORAGE_COUNT to MessageStoreAdapter.EVENT_MESSAGESTORAGE_COUNT
         )
 
         private val broadcastEventMap = mapOf(
@@ -175,6 +179,13 @@ class ReactNativeMobileMessagingService(
                 return
             }
             RNMMLogger.i(Utils.TAG, "messageStorageReceiver event: $event")
+            val requestId = intent.getStringExtra(MessageStoreAdapter.EXTRA_REQUEST_ID)
+            if (requestId != null) {
+                val request = Arguments.createMap()
+                request.putString("requestId", requestId)
+                ReactNativeEvent.send(event, reactContext, request)
+                return
+            }
             if (intent.extras == null) {
                 ReactNativeEvent.send(event, reactContext)
                 return
@@ -186,11 +197,7 @@ class ReactNativeMobileMessagingService(
                 return
             }
             RNMMLogger.i(Utils.TAG, "messageStorageReceiver messages: $messages")
-            try {
-                ReactNativeEvent.send(event, reactContext, ReactNativeJson.convertJsonToArray(MessageJson.toJSONArray(messages.toTypedArray())))
-            } catch (e: JSONException) {
-                ReactNativeEvent.send(event, reactContext)
-            }
+            ReactNativeEvent.send(event, reactContext, MessageMapper.messagesToArray(messages))
         }
     }
 
@@ -245,8 +252,13 @@ class ReactNativeMobileMessagingService(
 
     fun init(args: ReadableMap, successCallback: Callback, errorCallback: Callback) {
         try {
-            val configuration = Configuration.resolveConfiguration(ReactNativeJson.convertMapToJson(args))
+            val configuration = Configuration.resolveConfiguration(args)
             ConfigCache.configuration = configuration
+            CacheManager.configure(configuration.android?.eventCache)
+            EventDispatcher.configure(configuration.android?.eventDispatch)
+            OutboundEventQueue.configure(configuration.android?.eventDispatch)
+            MessageStorageMirror.configure(if (configuration.messageStorage != null) configuration.android?.messageStorageMirror else null)
+            MessageStorageSaveBatcher.configure(configuration.android?.messageStorageSaveBatching)
             if (configuration.logging) {
                 val writer = RNMMLogWriter(reactContext)
                 RNMMLogger.useReactNativeConsole(writer)
@@ -289,8 +301,12 @@ class ReactNativeMobileMessagingService(
                 MessageStoreAdapter.init(context)
                 builder.withMessageStore(MessageStoreAdapter::class.java)
             } else if (configuration.defaultMessageStorage) {
-                builder.withMessageStore(SQLiteMessageStore::class.java)
+                DefaultMessageStore.configureSearch(configuration.android?.messageSearch?.customPayloadFields)
+                builder.withMessageStore(DefaultMessageStore::class.java)
             }
+            val usesDefaultMessageStore = configuration.messageStorage == null && configuration.defaultMessageStorage
+            MessageStorageRetention.configure(context, if (usesDefaultMessageStore) configuration.android?.messageStorageRetention else null)
+            MessageSeenReporter.configure(context, configuration.android?.seenReporting)
 
             configuration.android?.let { androidConfig ->
                 val notificationBuilder = NotificationSettings.Builder(context)
@@ -348,6 +364,8 @@ class ReactNativeMobileMessagingService(
                     if (categories.isNotEmpty()) {
                         MobileInteractive.getInstance(context).setNotificationCategories(*categories)
                     }
+                    // Reports ids left pending by the previous process
+                    MessageSeenReporter.flush()
                     successCallback.invoke()
                 }
 
@@ -541,14 +559,7 @@ class ReactNativeMobileMessagingService(
         RNMMLogger.d(Utils.TAG, "Mark messages seen...")
         try {
             val messageIds = Utils.resolveStringArray(args)
-            CoroutineScope(Dispatchers.IO).launch {
-                try {
-                    mobileMessaging.setMessagesSeen(*messageIds)
-                    successCallback.invoke()
-                } catch (e: Exception) {
-                    errorCallback.invoke(Utils.callbackError(e.message, null))
-                }
-            }
+            MessageSeenReporter.markSeen(reactContext, messageIds.asList(), successCallback, errorCallback)
         } catch (e: Exception) {
             errorCallback.invoke(Utils.callbackError(e.message, null))
         }
@@ -738,7 +749,6 @@ class ReactNativeMobileMessagingService(
     }
 
     // Default message storage methods
-    @Synchronized
     fun defaultMessageStorage_find(messageId: String, onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(Utils.TAG, "Default message storage find: $messageId")
         val messageStore = mobileMessaging.messageStore
@@ -747,19 +757,22 @@ class ReactNativeMobileMessagingService(
             return
         }
 
-        try {
-            val messages = messageStore.findAll(reactContext)
-            for (message in messages) {
-                if (messageId == message.messageId) {
-                    val readableMap = ReactNativeJson.convertJsonToMap(MessageJson.toJSON(message))
-                    onSuccess.invoke(readableMap)
-                    return
+        runStorageCall(false, onError) {
+            try {
+                val message = if (messageStore is DefaultMessageStore) {
+                    messageStore.find(reactContext, messageId)
+                } else {
+                    messageStore.findAll(reactContext).firstOrNull { messageId == it.messageId }
+                }
+                if (message != null) {
+                    onSuccess.invoke(MessageMapper.messageToMap(message))
+                } else {
+                    onSuccess.invoke()
                 }
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error finding message: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error finding message: ${e.message}", null))
             }
-            onSuccess.invoke()
-        } catch (e: Exception) {
-            RNMMLogger.e(Utils.TAG, "Error finding message: ${e.message}", e)
-            onError.invoke(Utils.callbackError("Error finding message: ${e.message}", null))
         }
     }
 
@@ -771,45 +784,140 @@ class ReactNativeMobileMessagingService(
             return
         }
 
-        try {
-            val messages = messageStore.findAll(reactContext)
-            val readableArray = ReactNativeJson.convertJsonToArray(MessageJson.toJSONArray(messages.toTypedArray()))
-            onSuccess.invoke(readableArray)
-        } catch (e: Exception) {
-            RNMMLogger.e(Utils.TAG, "Error finding all messages: ${e.message}", e)
-            onError.invoke(Utils.callbackError("Error finding all messages: ${e.message}", null))
+        runStorageCall(false, onError) {
+            try {
+                val messages = messageStore.findAll(reactContext)
+                onSuccess.invoke(MessageMapper.messagesToArray(messages))
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error finding all messages: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error finding all messages: ${e.message}", null))
+            }
         }
     }
 
-    @Synchronized
+    fun defaultMessageStorage_findPage(cursor: String?, limit: Double, filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(Utils.TAG, "Default message storage find page: $cursor, limit: $limit")
+        val messageStore = mobileMessaging.messageStore
+        if (messageStore !is DefaultMessageStore) {
+            onError.invoke(Utils.callbackError("Default message store does not exist", null))
+            return
+        }
+
+        val pageFilter = resolvePageFilter(filter)
+        runStorageCall(false, onError) {
+            try {
+                val page = messageStore.findPage(reactContext, cursor, limit.toInt(), pageFilter)
+                val result = Arguments.createMap()
+                result.putArray("messages", MessageMapper.messagesToArray(page.messages))
+                result.putString("nextCursor", page.nextCursor)
+                onSuccess.invoke(result)
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error finding page of messages: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error finding page of messages: ${e.message}", null))
+            }
+        }
+    }
+
+    fun defaultMessageStorage_search(query: String, limit: Double, cursor: String?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(Utils.TAG, "Default message storage search, limit: $limit")
+        val messageStore = mobileMessaging.messageStore
+        if (messageStore !is DefaultMessageStore) {
+            onError.invoke(Utils.callbackError("Default message store does not exist", null))
+            return
+        }
+
+        runStorageCall(false, onError) {
+            try {
+                val page = messageStore.search(reactContext, query, cursor, limit.toInt())
+                val result = Arguments.createMap()
+                result.putArray("messages", MessageMapper.messagesToArray(page.messages))
+                result.putString("nextCursor", page.nextCursor)
+                onSuccess.invoke(result)
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error searching messages: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error searching messages: ${e.message}", null))
+            }
+        }
+    }
+
+    fun defaultMessageStorage_count(filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(Utils.TAG, "Default message storage count")
+        val messageStore = mobileMessaging.messageStore
+        if (messageStore !is DefaultMessageStore) {
+            onError.invoke(Utils.callbackError("Default message store does not exist", null))
+            return
+        }
+
+        val countFilter = resolvePageFilter(filter)
+        runStorageCall(false, onError) {
+            try {
+                onSuccess.invoke(messageStore.count(reactContext, countFilter).toDouble())
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error counting messages: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error counting messages: ${e.message}", null))
+            }
+        }
+    }
+
+    private fun resolvePageFilter(filter: ReadableMap?): DefaultMessageStore.Filter? {
+        if (filter == null) {
+            return null
+        }
+        fun has(key: String) = filter.hasKey(key) && !filter.isNull(key)
+        return DefaultMessageStore.Filter(
+            if (has("sentFrom")) filter.getDouble("sentFrom").toLong() else null,
+            if (has("sentTo")) filter.getDouble("sentTo").toLong() else null,
+            if (has("seen")) filter.getBoolean("seen") else null,
+            if (has("customPayloadKey")) filter.getString("customPayloadKey") else null
+        )
+    }
+
     fun defaultMessageStorage_delete(messageId: String, onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(Utils.TAG, "Default message storage delete: $messageId")
+        deleteStoredMessages(arrayOf(messageId), onSuccess, onError)
+    }
+
+    fun defaultMessageStorage_deleteMany(messageIds: ReadableArray, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(Utils.TAG, "Default message storage delete many: ${messageIds.size()}")
+        if (messageIds.size() == 0) {
+            onSuccess.invoke()
+            return
+        }
+        val ids = try {
+            Utils.resolveStringArray(messageIds)
+        } catch (e: Exception) {
+            onError.invoke(Utils.callbackError(e.message, null))
+            return
+        }
+        deleteStoredMessages(ids, onSuccess, onError)
+    }
+
+    private fun deleteStoredMessages(messageIds: Array<String>, onSuccess: Callback, onError: Callback) {
         val messageStore = mobileMessaging.messageStore
         if (messageStore == null) {
             onError.invoke(Utils.callbackError("Message store does not exist", null))
             return
         }
 
-        try {
-            val messagesToKeep = mutableListOf<Message>()
-            val allMessages = messageStore.findAll(reactContext)
-
-            for (message in allMessages) {
-                if (messageId != message.messageId) {
-                    messagesToKeep.add(message)
+        runStorageCall(true, onError) {
+            try {
+                if (messageStore is DefaultMessageStore) {
+                    messageStore.delete(reactContext, *messageIds)
+                } else {
+                    // Other stores can only be rewritten without the deleted messages
+                    val idsToDelete = messageIds.toHashSet()
+                    val messagesToKeep = messageStore.findAll(reactContext).filter { it.messageId !in idsToDelete }
+                    messageStore.deleteAll(reactContext)
+                    messageStore.save(reactContext, *messagesToKeep.toTypedArray())
                 }
+                onSuccess.invoke()
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error deleting message: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error deleting message: ${e.message}", null))
             }
-
-            messageStore.deleteAll(reactContext)
-            messageStore.save(reactContext, *messagesToKeep.toTypedArray())
-            onSuccess.invoke()
-        } catch (e: Exception) {
-            RNMMLogger.e(Utils.TAG, "Error deleting message: ${e.message}", e)
-            onError.invoke(Utils.callbackError("Error deleting message: ${e.message}", null))
         }
     }
 
-    @Synchronized
     fun defaultMessageStorage_deleteAll(onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(Utils.TAG, "Default message storage delete all...")
         val messageStore = mobileMessaging.messageStore
@@ -818,12 +926,37 @@ class ReactNativeMobileMessagingService(
             return
         }
 
+        runStorageCall(true, onError) {
+            try {
+                messageStore.deleteAll(reactContext)
+                onSuccess.invoke()
+            } catch (e: Exception) {
+                RNMMLogger.e(Utils.TAG, "Error deleting all messages: ${e.message}", e)
+                onError.invoke(Utils.callbackError("Error deleting all messages: ${e.message}", null))
+            }
+        }
+    }
+
+    /**
+     * Runs the storage call on the storage executor, callbacks are invoked from its thread once the call completes.
+     */
+    private fun runStorageCall(write: Boolean, onError: Callback, call: () -> Unit) {
+        val task = Runnable { call() }
+        val queued = if (write) MessageStorageExecutor.write(task) else MessageStorageExecutor.read(task)
+        if (!queued) {
+            onError.invoke(Utils.callbackError("Message storage is busy, try again later", null))
+        }
+    }
+
+    fun getMessageStorageStats(successCallback: Callback, errorCallback: Callback) {
         try {
-            messageStore.deleteAll(reactContext)
-            onSuccess.invoke()
-        } catch (e: Exception) {
-            RNMMLogger.e(Utils.TAG, "Error deleting all messages: ${e.message}", e)
-            onError.invoke(Utils.callbackError("Error deleting all messages: ${e.message}", null))
+            val stats = MessageStorageExecutor.getStats()
+            stats.put("mirror", MessageStorageMirror.getStats())
+            stats.put("saveBatching", MessageStorageSaveBatcher.getStats())
+            stats.put("retention", MessageStorageRetention.getStats())
+            successCallback.invoke(ReactNativeJson.convertJsonToMap(stats))
+        } catch (e: JSONException) {
+            errorCallback.invoke(Utils.callbackError(e.message, null))
         }
     }
 
@@ -947,18 +1080,26 @@ class ReactNativeMobileMessagingService(
     }
 
     // Custom message storage: methods to provide results to Native Bridge from JS
-    fun messageStorage_provideFindAllResult(result: ReadableArray) {
-        RNMMLogger.d(Utils.TAG, "messageStorage_provideFindAllResult")
-        MessageStoreAdapter.init(reactContext)
+    fun messageStorage_provideFindAllResult(result: ReadableArray, requestId: String) {
+        RNMMLogger.d(Utils.TAG, "messageStorage_provideFindAllResult: $requestId")
 
         try {
-            val jsonArray = ReactNativeJson.convertArrayToJson(result)
-            MessageStoreAdapter.messageStorage_findAllResults.addIfAbsent(jsonArray)
+            MessageStorageRequests.complete(requestId, ReactNativeJson.convertArrayToJson(result))
         } catch (e: JSONException) {
             RNMMLogger.e(Utils.TAG, "Provided results can't be parsed: ${e.message}", e)
+            MessageStorageRequests.complete(requestId, null)
         }
     }
 
+    fun messageStorage_provideCountResult(count: Double, requestId: String) {
+        RNMMLogger.d(Utils.TAG, "messageStorage_provideCountResult: $requestId")
+        MessageStorageRequests.complete(requestId, count.toLong())
+    }
+
+    fun invalidateMessageStorageMirror() {
+        MessageStorageMirror.invalidate()
+    }
+
     fun messageStorage_provideFindResult(result: ReadableMap) {
         // Not needed for Android - keep for API parity
         RNMMLogger.d(Utils.TAG, "messageStorage_provideFindResult: no-op on Android")
@@ -967,13 +1108,46 @@ class ReactNativeMobileMessagingService(
     // Event system methods (required for React Native EventEmitter)
     fun addListener(eventName: String) {
         RNMMLogger.d(Utils.TAG, "addListener: $eventName")
+        if (eventName == EVENT_EVENTS_BATCH) {
+            // Internal subscription made by the plugin itself, doesn't mean the app is listening yet
+            jsSupportsEventBatches = true
+            return
+        }
         jsHasListeners = true
+        val replayStartedAt = System.nanoTime()
         val events = CacheManager.loadEvents(eventName)
-        for (event in events) {
-            if (eventName == event.type) {
-                ReactNativeEvent.send(event.type, reactContext, event.jsonObject, *event.objects)
+        if (events.isEmpty()) {
+            return
+        }
+        if (jsSupportsEventBatches && events.size > 1) {
+            ReactNativeEvent.sendBatch(eventName, reactContext, events)
+        } else {
+            for (event in events) {
+                if (eventName == event.type) {
+                    ReactNativeEvent.send(event, reactContext)
+                }
             }
         }
+        CacheManager.onReplayFinished(eventName, System.nanoTime() - replayStartedAt)
+    }
+
+    fun getSeenReportStats(successCallback: Callback, errorCallback: Callback) {
+        try {
+            successCallback.invoke(ReactNativeJson.convertJsonToMap(MessageSeenReporter.getStats()))
+        } catch (e: JSONException) {
+            errorCallback.invoke(Utils.callbackError(e.message, null))
+        }
+    }
+
+    fun getEventCacheStats(successCallback: Callback, errorCallback: Callback) {
+        try {
+            val stats = CacheManager.getStats()
+                .put("dispatch", EventDispatcher.getStats())
+                .put("outbound", OutboundEventQueue.getStats())
+            successCallback.invoke(ReactNativeJson.convertJsonToMap(stats))
+        } catch (e: JSONException) {
+            errorCallback.invoke(Utils.callbackError(e.message, null))
+        }
     }
 
     fun removeListeners(count: Int) {
@@ -1027,27 +1201,36 @@ class ReactNativeMobileMessagingService(
             const val EVENT_MESSAGESTORAGE_START = "messageStorage.start"
             const val EVENT_MESSAGESTORAGE_SAVE = "messageStorage.save"
             const val EVENT_MESSAGESTORAGE_FIND_ALL = "messageStorage.findAll"
+            const val EVENT_MESSAGESTORAGE_COUNT = "messageStorage.count"
+
+            // Id of the request JS has to provide the result for, set on findAll and count broadcasts
+            const val EXTRA_REQUEST_ID = "org.infobip.reactlibrary.mobilemessaging.messageStorage.requestId"
 
             private const val SYNC_CALL_TIMEOUT_MS = 30000L
-            val messageStorage_findAllResults = CopyOnWriteArrayList<JSONArray>()
 
             @JvmStatic
             fun init(context: Context) {
                 LocalBroadcastManager.getInstance(context).sendBroadcast(Intent(EVENT_MESSAGESTORAGE_START))
             }
+
+            @JvmStatic
+            fun sendSave(context: Context, messages: List<Message>) {
+                val saveMessageIntent = Intent(EVENT_MESSAGESTORAGE_SAVE)
+                saveMessageIntent.putParcelableArrayListExtra(
+                    BroadcastParameter.EXTRA_MESSAGES,
+                    MessageBundleMapper.messagesToBundles(messages)
+                )
+                LocalBroadcastManager.getInstance(context).sendBroadcast(saveMessageIntent)
+            }
         }
 
         override fun findAll(context: Context): List<Message> {
             RNMMLogger.i(Utils.TAG, "MessageStoreAdapter findAll...")
 
-            messageStorage_findAllResults.clear()
-            LocalBroadcastManager.getInstance(context).sendBroadcast(Intent(EVENT_MESSAGESTORAGE_FIND_ALL))
+            MessageStorageMirror.findAll()?.let { return CopyOnWriteArrayList(it) }
+            val result = requestFromJs(context, EVENT_MESSAGESTORAGE_FIND_ALL) as? JSONArray ?: return CopyOnWriteArrayList()
             return try {
-                if (messageStorage_findAllResults.isNotEmpty()) {
-                    MessageJson.resolveMessages(messageStorage_findAllResults[0])
-                } else {
-                    CopyOnWriteArrayList()
-                }
+                MessageJson.resolveMessages(result).also { MessageStorageMirror.replaceAll(it) }
             } catch (e: Exception) {
                 RNMMLogger.e(Utils.TAG, "Cannot find messages: $e")
                 CopyOnWriteArrayList()
@@ -1055,17 +1238,35 @@ class ReactNativeMobileMessagingService(
         }
 
         override fun countAll(context: Context): Long {
-            return findAll(context).size.toLong()
+            RNMMLogger.i(Utils.TAG, "MessageStoreAdapter countAll...")
+            MessageStorageMirror.count()?.let { return it }
+            return requestFromJs(context, EVENT_MESSAGESTORAGE_COUNT) as? Long ?: 0L
+        }
+
+        /**
+         * Asks JS for the result of the storage event and waits for it.
+         *
+         * @return result provided by JS, or null if it didn't come in time or can't be waited for on this thread
+         */
+        private fun requestFromJs(context: Context, event: String): Any? {
+            // Broadcasts are delivered on the main thread and JS answers on its own thread, waiting on either would never end
+            if (Looper.myLooper() == Looper.getMainLooper() || ReactNativeMobileMessagingService.lastReactContext?.isOnJSQueueThread == true) {
+                RNMMLogger.w(Utils.TAG, "Can't wait for JS message storage on ${Thread.currentThread().name}, skipping $event")
+                return null
+            }
+            // Pending saves have to reach JS before the request does
+            MessageStorageSaveBatcher.flush()
+            val request = MessageStorageRequests.open()
+            val intent = Intent(event)
+            intent.putExtra(EXTRA_REQUEST_ID, request.id)
+            LocalBroadcastManager.getInstance(context).sendBroadcast(intent)
+            return request.await(SYNC_CALL_TIMEOUT_MS)
         }
 
         override fun save(context: Context, vararg messages: Message) {
             RNMMLogger.i(Utils.TAG, "MessageStoreAdapter save messages...")
-            val saveMessageIntent = Intent(EVENT_MESSAGESTORAGE_SAVE)
-            saveMessageIntent.putParcelableArrayListExtra(
-                BroadcastParameter.EXTRA_MESSAGES,
-                MessageBundleMapper.messagesToBundles(listOf(*messages))
-            )
-            LocalBroadcastManager.getInstance(context).sendBroadcast(saveMessageIntent)
+            MessageStorageMirror.put(listOf(*messages))
+            MessageStorageSaveBatcher.save(context, listOf(*messages))
         }
 
         override fun deleteAll(context: Context) {
@@ -1093,7 +1294,6 @@ class MessageEventReceiver : ReactNativeBroadcastReceiver() {
             return
         }
 
-        val message = MessageJson.bundleToJSON(intent?.extras)
         var actionId: String? = null
         var actionInputText: String? = null
 
@@ -1102,14 +1302,16 @@ class MessageEventReceiver : ReactNativeBroadcastReceiver() {
             actionId = notificationAction.id
             actionInputText = notificationAction.inputText
         }
-        emitOrCache(event, context, message, actionId, actionInputText)
+        emitOrCache(event, context, intent?.extras, actionId, actionInputText)
     }
 
     // Early-exit when plugin is not initialized avoids calling getReactContext() which throws
     // UnsupportedOperationException on new architecture when app is killed. When reactContext is
     // null (e.g. during lifecycle transitions), events are cached regardless of jsHasListeners
     // since sending requires a valid ReactContext. This preserves the original behavior.
-    private fun emitOrCache(eventType: String, context: Context?, message: JSONObject?, actionId: String?, actionInputText: String?) {
+    // Message bundle is converted to JSON only when the event is emitted, cached events keep the bundle as is.
+    private fun emitOrCache(eventType: String, context: Context?, message: Bundle?, actionId: String?, actionInputText: String?) {
+        CacheManager.init(context)
         if (!pluginInitialized) {
             CacheManager.saveEvent(eventType, message, actionId, actionInputText)
             return
@@ -1118,7 +1320,7 @@ class MessageEventReceiver : ReactNativeBroadcastReceiver() {
         if (reactContext == null) {
             CacheManager.saveEvent(eventType, message, actionId, actionInputText)
         } else if (jsHasListeners) {
-            ReactNativeEvent.send(eventType, reactContext, message, actionId, actionInputText)
+            ReactNativeEvent.sendMessage(eventType, reactContext, MessageMapper.bundleToMap(message), actionId, actionInputText)
         } else {
             CacheManager.saveEvent(eventType, message, actionId, actionInputText)
         }
@@ -0,0 +1,91 @@
+//
+//  MessageMapper.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging.datamappers;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.infobip.mobile.messaging.Message;
+import org.json.JSONException;
+
+import java.util.List;
+
+/**
+ * Writes messages straight into React Native maps, without building a {@code JSONObject} first.
+ * <p>
+ * Output is the same as {@code ReactNativeJson.convertJsonToMap(MessageJson.toJSON(message))},
+ * including timestamps, which end up as strings there since JSON longs are converted with {@code toString()}.
+ */
+public class MessageMapper {
+
+    public static WritableMap bundleToMap(Bundle bundle) {
+        if (bundle == null) {
+            return null;
+        }
+        return messageToMap(Message.createFrom(bundle));
+    }
+
+    public static WritableArray messagesToArray(List<Message> messages) {
+        if (messages == null) {
+            return null;
+        }
+        WritableArray array = new WritableNativeArray();
+        for (Message message : messages) {
+            WritableMap map = messageToMap(message);
+            if (map != null) {
+                array.pushMap(map);
+            }
+        }
+        return array;
+    }
+
+    public static WritableMap messageToMap(Message message) {
+        if (message == null) {
+            return null;
+        }
+        WritableMap map = new WritableNativeMap();
+        putOpt(map, "messageId", message.getMessageId());
+        putOpt(map, "title", message.getTitle());
+        putOpt(map, "body", message.getBody());
+        putOpt(map, "sound", message.getSound());
+        map.putBoolean("vibrate", message.isVibrate());
+        putOpt(map, "icon", message.getIcon());
+        map.putBoolean("silent", message.isSilent());
+        putOpt(map, "category", message.getCategory());
+        putOpt(map, "from", message.getFrom());
+        map.putString("receivedTimestamp", Long.toString(message.getReceivedTimestamp()));
+        if (message.getCustomPayload() != null) {
+            try {
+                map.putMap("customPayload", ReactNativeJson.convertJsonToMap(message.getCustomPayload()));
+            } catch (JSONException e) {
+                map.putNull("customPayload");
+            }
+        }
+        putOpt(map, "contentUrl", message.getContentUrl());
+        map.putBoolean("seen", message.getSeenTimestamp() != 0);
+        map.putString("seenDate", Long.toString(message.getSeenTimestamp()));
+        map.putBoolean("chat", message.isChatMessage());
+        putOpt(map, "browserUrl", message.getBrowserUrl());
+        putOpt(map, "webViewUrl", message.getWebViewUrl());
+        putOpt(map, "deeplink", message.getDeeplink());
+        putOpt(map, "inAppOpenTitle", message.getInAppOpenTitle());
+        putOpt(map, "inAppDismissTitle", message.getInAppDismissTitle());
+        return map;
+    }
+
+    private static void putOpt(WritableMap map, String key, String value) {
+        if (value != null) {
+            map.putString(key, value);
+        }
+    }
+}
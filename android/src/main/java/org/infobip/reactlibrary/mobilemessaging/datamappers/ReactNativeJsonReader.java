@@ -0,0 +1,169 @@
+//
+//  ReactNativeJsonReader.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging.datamappers;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Reads JSON text straight into React Native maps, without building a {@code JSONObject} tree first.
+ * <p>
+ * Output is the same as {@code ReactNativeJson.convertJsonToMap(new JSONObject(json))}:
+ * numbers are typed the way {@code JSONObject} parses them, so longs end up as strings, and so do nulls.
+ */
+public class ReactNativeJsonReader {
+
+    public static WritableMap readMap(String json) throws IOException {
+        if (json == null) {
+            return null;
+        }
+        JsonReader reader = new JsonReader(new StringReader(json));
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new IOException("Expected " + JsonToken.BEGIN_OBJECT + " but was " + reader.peek());
+            }
+            return (WritableMap) read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Object read(JsonReader reader) throws IOException {
+        // Containers being filled, with the keys they are going to be stored under in their parents
+        Object[] containers = new Object[8];
+        String[] keys = new String[8];
+        int depth = 0;
+        String key = null;
+
+        while (true) {
+            JsonToken token = reader.peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                case BEGIN_ARRAY:
+                    if (depth == containers.length) {
+                        containers = grow(containers, new Object[depth * 2]);
+                        keys = (String[]) grow(keys, new String[depth * 2]);
+                    }
+                    if (token == JsonToken.BEGIN_OBJECT) {
+                        reader.beginObject();
+                        containers[depth] = new WritableNativeMap();
+                    } else {
+                        reader.beginArray();
+                        containers[depth] = new WritableNativeArray();
+                    }
+                    keys[depth] = key;
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    if (token == JsonToken.END_OBJECT) {
+                        reader.endObject();
+                    } else {
+                        reader.endArray();
+                    }
+                    Object completed = containers[--depth];
+                    containers[depth] = null;
+                    if (depth == 0) {
+                        return completed;
+                    }
+                    // Native maps are copied when they are put into another one, so only complete ones are attached
+                    Object parent = containers[depth - 1];
+                    if (completed instanceof WritableMap) {
+                        if (parent instanceof WritableMap) {
+                            ((WritableMap) parent).putMap(keys[depth], (WritableMap) completed);
+                        } else {
+                            ((WritableArray) parent).pushMap((WritableMap) completed);
+                        }
+                    } else {
+                        if (parent instanceof WritableMap) {
+                            ((WritableMap) parent).putArray(keys[depth], (WritableArray) completed);
+                        } else {
+                            ((WritableArray) parent).pushArray((WritableArray) completed);
+                        }
+                    }
+                    break;
+                case NAME:
+                    key = reader.nextName();
+                    break;
+                case STRING:
+                    putString(containers[depth - 1], key, reader.nextString());
+                    break;
+                case NUMBER:
+                    putNumber(containers[depth - 1], key, reader.nextString());
+                    break;
+                case BOOLEAN:
+                    boolean value = reader.nextBoolean();
+                    if (containers[depth - 1] instanceof WritableMap) {
+                        ((WritableMap) containers[depth - 1]).putBoolean(key, value);
+                    } else {
+                        ((WritableArray) containers[depth - 1]).pushBoolean(value);
+                    }
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    // JSONObject.NULL is converted with toString()
+                    putString(containers[depth - 1], key, "null");
+                    break;
+                default:
+                    throw new IOException("Unexpected " + token);
+            }
+        }
+    }
+
+    /**
+     * Types the number literal the way {@code JSONObject} does: integers fitting into int stay ints,
+     * larger ones are longs and are therefore written as strings, everything else is a double.
+     */
+    private static void putNumber(Object container, String key, String literal) {
+        if (literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1) {
+            try {
+                long longValue = Long.parseLong(literal);
+                if (longValue <= Integer.MAX_VALUE && longValue >= Integer.MIN_VALUE) {
+                    if (container instanceof WritableMap) {
+                        ((WritableMap) container).putInt(key, (int) longValue);
+                    } else {
+                        ((WritableArray) container).pushInt((int) longValue);
+                    }
+                } else {
+                    putString(container, key, Long.toString(longValue));
+                }
+                return;
+            } catch (NumberFormatException ignored) {
+                // Too big for a long, parsed as double below
+            }
+        }
+        double doubleValue = Double.parseDouble(literal);
+        if (container instanceof WritableMap) {
+            ((WritableMap) container).putDouble(key, doubleValue);
+        } else {
+            ((WritableArray) container).pushDouble(doubleValue);
+        }
+    }
+
+    private static void putString(Object container, String key, String value) {
+        if (container instanceof WritableMap) {
+            ((WritableMap) container).putString(key, value);
+        } else {
+            ((WritableArray) container).pushString(value);
+        }
+    }
+
+    private static Object[] grow(Object[] array, Object[] grown) {
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -28,6 +28,7 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : NativeMobil
     init {
         reactApplicationContext.addLifecycleEventListener(this)
         CacheManager.cleanupLegacyCache(reactApplicationContext)
+        CacheManager.init(reactApplicationContext)
         ReactNativeMobileMessagingService.pluginInitialized = true
         service.registerBroadcastReceiver()
     }
@@ -51,11 +52,31 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : NativeMobil
         service.defaultMessageStorage_findAll(onSuccess, onError)
     }
 
+    override fun defaultMessageStorage_findPage(cursor: String?, limit: Double, filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_findPage...")
+        service.defaultMessageStorage_findPage(cursor, limit, filter, onSuccess, onError)
+    }
+
+    override fun defaultMessageStorage_search(query: String, limit: Double, cursor: String?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_search...")
+        service.defaultMessageStorage_search(query, limit, cursor, onSuccess, onError)
+    }
+
+    override fun defaultMessageStorage_count(filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_count...")
+        service.defaultMessageStorage_count(filter, onSuccess, onError)
+    }
+
     override fun defaultMessageStorage_delete(messageId: String, onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(TAG, "defaultMessageStorage_delete...")
         service.defaultMessageStorage_delete(messageId, onSuccess, onError)
     }
 
+    override fun defaultMessageStorage_deleteMany(messageIds: ReadableArray, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_deleteMany...")
+        service.defaultMessageStorage_deleteMany(messageIds, onSuccess, onError)
+    }
+
     override fun defaultMessageStorage_deleteAll(onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(TAG, "defaultMessageStorage_deleteAll...")
         service.defaultMessageStorage_deleteAll(onSuccess, onError)
@@ -154,6 +175,27 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : NativeMobil
         service.registerForAndroidRemoteNotifications()
     }
 
+    // Native event cache (Android specific)
+    override fun getEventCacheStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get event cache stats...")
+        service.getEventCacheStats(successCallback, errorCallback)
+    }
+
+    override fun getMessageStorageStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get message storage stats...")
+        service.getMessageStorageStats(successCallback, errorCallback)
+    }
+
+    override fun getSeenReportStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get seen report stats...")
+        service.getSeenReportStats(successCallback, errorCallback)
+    }
+
+    override fun invalidateMessageStorageMirror() {
+        RNMMLogger.d(TAG, "Invalidate message storage mirror...")
+        service.invalidateMessageStorageMirror()
+    }
+
     // Dialog for error (UI)
     override fun showDialogForError(errorCode: Double, successCallback: Callback, errorCallback: Callback) {
         RNMMLogger.d(TAG, "ShowDialogForError...")
@@ -173,9 +215,14 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : NativeMobil
     }
 
     // Custom message storage from JS
-    override fun messageStorage_provideFindAllResult(messages: ReadableArray) {
+    override fun messageStorage_provideFindAllResult(messages: ReadableArray, requestId: String) {
         RNMMLogger.d(TAG, "MessageStorage_provideFindAllResult...")
-        service.messageStorage_provideFindAllResult(messages)
+        service.messageStorage_provideFindAllResult(messages, requestId)
+    }
+
+    override fun messageStorage_provideCountResult(count: Double, requestId: String) {
+        RNMMLogger.d(TAG, "MessageStorage_provideCountResult...")
+        service.messageStorage_provideCountResult(count, requestId)
     }
 
     override fun messageStorage_provideFindResult(message: ReadableMap) {
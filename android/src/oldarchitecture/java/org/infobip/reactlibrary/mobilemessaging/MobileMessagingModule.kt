@@ -29,6 +29,7 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : ReactContex
     init {
         reactApplicationContext.addLifecycleEventListener(this)
         CacheManager.cleanupLegacyCache(reactApplicationContext)
+        CacheManager.init(reactApplicationContext)
         ReactNativeMobileMessagingService.pluginInitialized = true
         service.registerBroadcastReceiver()
     }
@@ -55,12 +56,36 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : ReactContex
         service.defaultMessageStorage_findAll(onSuccess, onError)
     }
 
+    @ReactMethod
+    fun defaultMessageStorage_findPage(cursor: String?, limit: Double, filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_findPage...")
+        service.defaultMessageStorage_findPage(cursor, limit, filter, onSuccess, onError)
+    }
+
+    @ReactMethod
+    fun defaultMessageStorage_search(query: String, limit: Double, cursor: String?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_search...")
+        service.defaultMessageStorage_search(query, limit, cursor, onSuccess, onError)
+    }
+
+    @ReactMethod
+    fun defaultMessageStorage_count(filter: ReadableMap?, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_count...")
+        service.defaultMessageStorage_count(filter, onSuccess, onError)
+    }
+
     @ReactMethod
     fun defaultMessageStorage_delete(messageId: String, onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(TAG, "defaultMessageStorage_delete...")
         service.defaultMessageStorage_delete(messageId, onSuccess, onError)
     }
 
+    @ReactMethod
+    fun defaultMessageStorage_deleteMany(messageIds: ReadableArray, onSuccess: Callback, onError: Callback) {
+        RNMMLogger.d(TAG, "defaultMessageStorage_deleteMany...")
+        service.defaultMessageStorage_deleteMany(messageIds, onSuccess, onError)
+    }
+
     @ReactMethod
     fun defaultMessageStorage_deleteAll(onSuccess: Callback, onError: Callback) {
         RNMMLogger.d(TAG, "defaultMessageStorage_deleteAll...")
@@ -167,6 +192,31 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : ReactContex
         service.registerForAndroidRemoteNotifications()
     }
 
+    // Native event cache (Android specific)
+    @ReactMethod
+    fun getEventCacheStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get event cache stats...")
+        service.getEventCacheStats(successCallback, errorCallback)
+    }
+
+    @ReactMethod
+    fun getMessageStorageStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get message storage stats...")
+        service.getMessageStorageStats(successCallback, errorCallback)
+    }
+
+    @ReactMethod
+    fun getSeenReportStats(successCallback: Callback, errorCallback: Callback) {
+        RNMMLogger.d(TAG, "Get seen report stats...")
+        service.getSeenReportStats(successCallback, errorCallback)
+    }
+
+    @ReactMethod
+    fun invalidateMessageStorageMirror() {
+        RNMMLogger.d(TAG, "Invalidate message storage mirror...")
+        service.invalidateMessageStorageMirror()
+    }
+
     // Dialog for error (UI)
     @ReactMethod
     fun showDialogForError(errorCode: Double, successCallback: Callback, errorCallback: Callback) {
@@ -203,9 +253,15 @@ class MobileMessagingModule(reactContext: ReactApplicationContext) : ReactContex
 
     // Custom message storage from JS
     @ReactMethod
-    fun messageStorage_provideFindAllResult(messages: ReadableArray) {
+    fun messageStorage_provideFindAllResult(messages: ReadableArray, requestId: String) {
         RNMMLogger.d(TAG, "messageStorage_provideFindAllResult...")
-        service.messageStorage_provideFindAllResult(messages)
+        service.messageStorage_provideFindAllResult(messages, requestId)
+    }
+
+    @ReactMethod
+    fun messageStorage_provideCountResult(count: Double, requestId: String) {
+        RNMMLogger.d(TAG, "messageStorage_provideCountResult...")
+        service.messageStorage_provideCountResult(count, requestId)
     }
 
     @ReactMethod
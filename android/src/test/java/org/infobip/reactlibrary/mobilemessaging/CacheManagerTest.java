@@ -0,0 +1,196 @@
+//
+//  CacheManagerTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CacheManagerTest {
+    private static final String LOW_EVENT = "lowPriorityEvent";
+    private static final String NORMAL_EVENT = ReactNativeMobileMessagingService.EVENT_MESSAGE_RECEIVED;
+    private static final String HIGH_EVENT = ReactNativeMobileMessagingService.EVENT_NOTIFICATION_TAPPED;
+
+    @Before
+    public void setUp() {
+        // The cache isn't initialized with a context, so events are kept in memory only
+        CacheManager.configure(null);
+        CacheManager.setCostEstimator(null);
+        CacheManager.clearCache();
+    }
+
+    @After
+    public void tearDown() {
+        setUp();
+    }
+
+    @Test
+    public void loadsOnlyEventsOfRequestedTypeInArrivalOrder() throws JSONException {
+        save(NORMAL_EVENT, "n1");
+        save(HIGH_EVENT, "h1");
+        save(NORMAL_EVENT, "n2");
+
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n1", "n2");
+        assertEquals(1, CacheManager.getStats().getInt("size"));
+        assertValues(CacheManager.loadEvents(HIGH_EVENT), "h1");
+    }
+
+    @Test
+    public void evictsOldestEventOfLowestPriorityWhenFull() throws JSONException {
+        Configuration.EventCacheConfiguration configuration = configuration(3, null);
+        configuration.events.put(LOW_EVENT, eventType(configuration, "low", null, null));
+        CacheManager.configure(configuration);
+
+        save(LOW_EVENT, "l1");
+        save(NORMAL_EVENT, "n1");
+        save(LOW_EVENT, "l2");
+        save(HIGH_EVENT, "h1");
+        save(NORMAL_EVENT, "n2");
+
+        assertEquals(0, CacheManager.loadEvents(LOW_EVENT).length);
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n1", "n2");
+        assertValues(CacheManager.loadEvents(HIGH_EVENT), "h1");
+    }
+
+    @Test
+    public void dropsNewEventWhenOnlyHigherPriorityEventsAreCached() throws JSONException {
+        CacheManager.configure(configuration(2, null));
+
+        save(HIGH_EVENT, "h1");
+        save(HIGH_EVENT, "h2");
+        save(NORMAL_EVENT, "n1");
+
+        assertEquals(0, CacheManager.loadEvents(NORMAL_EVENT).length);
+        assertValues(CacheManager.loadEvents(HIGH_EVENT), "h1", "h2");
+    }
+
+    @Test
+    public void typeOverItsQuotaEvictsItsOwnOldestEvent() throws JSONException {
+        Configuration.EventCacheConfiguration configuration = configuration(10, null);
+        configuration.events.put(NORMAL_EVENT, eventType(configuration, null, 2, null));
+        CacheManager.configure(configuration);
+
+        save(HIGH_EVENT, "h1");
+        save(NORMAL_EVENT, "n1");
+        save(NORMAL_EVENT, "n2");
+        save(NORMAL_EVENT, "n3");
+
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n2", "n3");
+        assertValues(CacheManager.loadEvents(HIGH_EVENT), "h1");
+    }
+
+    @Test
+    public void floodOfSingleTypeOverItsQuotaKeepsArrivalOrderBounded() throws JSONException {
+        Configuration.EventCacheConfiguration configuration = configuration(10, null);
+        configuration.events.put(NORMAL_EVENT, eventType(configuration, null, 2, null));
+        CacheManager.configure(configuration);
+
+        for (int i = 0; i < 1000; i++) {
+            save(NORMAL_EVENT, "n" + i);
+        }
+
+        assertTrue(CacheManager.arrivalOrderSize() <= 2 * 10 + 1);
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n998", "n999");
+    }
+
+    @Test
+    public void evictsOldestEventsOverByteLimit() throws JSONException {
+        CacheManager.setCostEstimator(event -> 100);
+        CacheManager.configure(configuration(null, 250L));
+
+        save(NORMAL_EVENT, "n1");
+        save(NORMAL_EVENT, "n2");
+        save(NORMAL_EVENT, "n3");
+
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n2", "n3");
+    }
+
+    @Test
+    public void stateEventReplacesCachedOneInPlace() throws JSONException {
+        String installationUpdated = ReactNativeMobileMessagingService.EVENT_INSTALLATION_UPDATED;
+        save(installationUpdated, "i1");
+        save(NORMAL_EVENT, "n1");
+        save(installationUpdated, "i2");
+
+        assertValues(CacheManager.loadEvents(installationUpdated), "i2");
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n1");
+    }
+
+    @Test
+    public void coalescesUnreadMessageCounters() {
+        String counterUpdated = ReactNativeMobileMessagingService.EVENT_INAPPCHAT_UNREAD_MESSAGES_COUNT_UPDATED;
+        CacheManager.saveEvent(counterUpdated, 3);
+        CacheManager.saveEvent(counterUpdated, 5);
+
+        CacheManager.Event[] events = CacheManager.loadEvents(counterUpdated);
+        assertEquals(1, events.length);
+        assertEquals(5, events[0].objects[0]);
+    }
+
+    @Test
+    public void keepsFirstEventWhenConfiguredSo() throws JSONException {
+        Configuration.EventCacheConfiguration configuration = configuration(null, null);
+        configuration.events.put(NORMAL_EVENT, eventType(configuration, null, null, "keepFirst"));
+        CacheManager.configure(configuration);
+
+        save(NORMAL_EVENT, "n1");
+        save(NORMAL_EVENT, "n2");
+
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n1");
+    }
+
+    @Test
+    public void loadingEventsDrainsThem() throws JSONException {
+        save(NORMAL_EVENT, "n1");
+
+        assertValues(CacheManager.loadEvents(NORMAL_EVENT), "n1");
+        assertEquals(0, CacheManager.loadEvents(NORMAL_EVENT).length);
+        assertEquals(0, CacheManager.getStats().getInt("size"));
+    }
+
+    private static void save(String eventType, String value) throws JSONException {
+        CacheManager.saveEvent(eventType, new JSONObject().put("value", value), null, null);
+    }
+
+    private static void assertValues(CacheManager.Event[] events, String... values) {
+        assertEquals(values.length, events.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], events[i].json().optString("value"));
+        }
+    }
+
+    private static Configuration.EventCacheConfiguration configuration(Integer maxSize, Long maxBytes) {
+        Configuration.EventCacheConfiguration configuration = new Configuration().new EventCacheConfiguration();
+        configuration.maxSize = maxSize;
+        configuration.maxBytes = maxBytes;
+        configuration.events = new HashMap<>();
+        return configuration;
+    }
+
+    private static Configuration.EventCacheConfiguration.EventType eventType(Configuration.EventCacheConfiguration configuration,
+                                                                              String priority, Integer quota, String coalescing) {
+        Configuration.EventCacheConfiguration.EventType eventType = configuration.new EventType();
+        eventType.priority = priority;
+        eventType.quota = quota;
+        eventType.coalescing = coalescing;
+        return eventType;
+    }
+}
@@ -0,0 +1,272 @@
+//
+//  DefaultMessageStoreTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.infobip.mobile.messaging.storage.SQLiteMessageStore;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DefaultMessageStoreTest {
+    private Context context;
+    private DefaultMessageStore store;
+
+    @Before
+    public void setUp() {
+        // Every case starts with a new database
+        DefaultMessageStore.closeDatabase();
+        DefaultMessageStore.configureSearch(null);
+        context = RuntimeEnvironment.getApplication();
+        store = new DefaultMessageStore();
+    }
+
+    @After
+    public void tearDown() {
+        DefaultMessageStore.closeDatabase();
+    }
+
+    @Test
+    public void findsMessagesByIdAndUpdatesThemInPlace() throws JSONException {
+        store.save(context, message("a", 100, "First", "Body"), message("b", 200, "Second", "Body"));
+        store.save(context, message("a", 100, 300, "First updated", "Body", null));
+
+        assertEquals(2, store.countAll(context));
+        assertEquals(Arrays.asList("a", "b"), ids(store.findAll(context)));
+        Message updated = store.find(context, "a");
+        assertEquals("First updated", updated.getTitle());
+        assertEquals(300, updated.getSeenTimestamp());
+        assertNull(store.find(context, "missing"));
+    }
+
+    @Test
+    public void keepsCustomPayloadOfStoredMessages() throws JSONException {
+        JSONObject payload = new JSONObject().put("orderId", "ORD-42").put("items", 3);
+        store.save(context, message("a", 100, 0, "Title", "Body", payload));
+
+        JSONObject stored = store.find(context, "a").getCustomPayload();
+        assertEquals("ORD-42", stored.getString("orderId"));
+        assertEquals(3, stored.getInt("items"));
+    }
+
+    @Test
+    public void pagesNewestFirstAndKeepsPlaceWhenMessagesAreAdded() throws JSONException {
+        for (int i = 1; i <= 5; i++) {
+            store.save(context, message("m" + i, i, "Title", "Body"));
+        }
+
+        DefaultMessageStore.Page first = store.findPage(context, null, 2, null);
+        store.save(context, message("m6", 6, "Title", "Body"));
+        DefaultMessageStore.Page second = store.findPage(context, first.nextCursor, 2, null);
+        DefaultMessageStore.Page third = store.findPage(context, second.nextCursor, 2, null);
+
+        assertEquals(Arrays.asList("m5", "m4"), ids(first.messages));
+        assertEquals(Arrays.asList("m3", "m2"), ids(second.messages));
+        assertEquals(Collections.singletonList("m1"), ids(third.messages));
+        assertNull(third.nextCursor);
+    }
+
+    @Test
+    public void endsPageWhichFitsExactlyWithoutCursor() throws JSONException {
+        store.save(context, message("a", 1, "Title", "Body"), message("b", 2, "Title", "Body"));
+
+        assertNull(store.findPage(context, null, 2, null).nextCursor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidPageCursor() {
+        store.findPage(context, "not a cursor", 10, null);
+    }
+
+    @Test
+    public void filtersAndCountsMessages() throws JSONException {
+        store.save(context,
+                message("a", 100, 0, "Title", "Body", new JSONObject().put("orderId", "1")),
+                message("b", 200, 250, "Title", "Body", null),
+                message("c", 300, 350, "Title", "Body", new JSONObject().put("order_id", "2")),
+                message("d", 400, "Title", "Body"));
+
+        DefaultMessageStore.Filter unseen = new DefaultMessageStore.Filter(null, null, false, null);
+        DefaultMessageStore.Filter range = new DefaultMessageStore.Filter(200L, 300L, null, null);
+        DefaultMessageStore.Filter withOrderId = new DefaultMessageStore.Filter(null, null, null, "orderId");
+
+        assertEquals(Arrays.asList("d", "a"), ids(store.findPage(context, null, 10, unseen).messages));
+        assertEquals(2, store.count(context, unseen));
+        assertEquals(Arrays.asList("c", "b"), ids(store.findPage(context, null, 10, range).messages));
+        assertEquals(Collections.singletonList("a"), ids(store.findPage(context, null, 10, withOrderId).messages));
+        assertEquals(1, store.count(context, withOrderId));
+        assertEquals(4, store.count(context, null));
+    }
+
+    @Test
+    public void deletesMoreMessagesThanFitInOneStatement() throws JSONException {
+        Message[] messages = new Message[1200];
+        String[] ids = new String[1101];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = message("m" + i, i, "Title", "Body");
+            if (i < 1100) {
+                ids[i] = "m" + i;
+            }
+        }
+        ids[1100] = "missing";
+        store.save(context, messages);
+
+        assertEquals(1100, store.delete(context, ids));
+        assertEquals(100, store.countAll(context));
+        assertNull(store.find(context, "m0"));
+        assertNotNull(store.find(context, "m1100"));
+    }
+
+    @Test
+    public void trimsExpiredMessagesInBatchesOldestFirst() throws JSONException {
+        for (int i = 1; i <= 25; i++) {
+            store.save(context, message("m" + i, i * 1000L, "Title", "Body"));
+        }
+        DefaultMessageStore.RetentionPolicy policy = new DefaultMessageStore.RetentionPolicy(null, 10_000L, null);
+
+        // Messages sent before 15000 are expired at 25000
+        assertEquals(10, store.trim(context, policy, 25_000, 10));
+        assertEquals(4, store.trim(context, policy, 25_000, 10));
+        assertEquals(0, store.trim(context, policy, 25_000, 10));
+        assertNull(store.find(context, "m14"));
+        assertNotNull(store.find(context, "m15"));
+    }
+
+    @Test
+    public void trimsMessagesOverCountAndSizeLimits() throws JSONException {
+        for (int i = 1; i <= 5; i++) {
+            store.save(context, message("m" + i, i, "Title", "Body"));
+        }
+
+        assertEquals(2, store.trim(context, new DefaultMessageStore.RetentionPolicy(3, null, null), 10, 100));
+        assertEquals(Arrays.asList("m3", "m4", "m5"), ids(store.findAll(context)));
+        assertEquals(0, store.trim(context, new DefaultMessageStore.RetentionPolicy(null, null, Long.MAX_VALUE), 10, 100));
+        assertEquals(2, store.trim(context, new DefaultMessageStore.RetentionPolicy(null, null, 0L), 10, 2));
+        assertEquals(Collections.singletonList("m5"), ids(store.findAll(context)));
+    }
+
+    @Test
+    public void searchIndexFollowsSavesAndDeletes() throws JSONException {
+        store.save(context, message("a", 100, "Your order shipped", "Track the parcel"),
+                message("b", 200, "Weekly news", "Track the trends"));
+
+        store.save(context, message("a", 100, "Renamed", "Nothing to see"));
+        assertTrue(store.search(context, "parcel", null, 10).messages.isEmpty());
+        assertEquals(Collections.singletonList("a"), ids(store.search(context, "renamed", null, 10).messages));
+
+        store.delete(context, "b");
+        assertTrue(store.search(context, "trends", null, 10).messages.isEmpty());
+
+        store.trim(context, new DefaultMessageStore.RetentionPolicy(0, null, null), 1000, 10);
+        assertTrue(store.search(context, "renamed", null, 10).messages.isEmpty());
+    }
+
+    @Test
+    public void searchRanksTitleMatchesFirstAndPagesByKeyset() throws JSONException {
+        store.save(context, message("a", 100, "Your order shipped", "Track the parcel"),
+                message("b", 200, "Weekly news", "New order options"),
+                message("c", 300, "Hello", "Ordering is easy"),
+                message("d", 400, "Hello", "Nothing here"));
+
+        assertEquals(Arrays.asList("a", "c", "b"), ids(store.search(context, "order", null, 10).messages));
+        assertEquals(Collections.singletonList("b"), ids(store.search(context, "ORDER opt", null, 10).messages));
+
+        DefaultMessageStore.Page first = store.search(context, "order", null, 2);
+        // A better match stored meanwhile doesn't shift the next page
+        store.save(context, message("e", 50, "Order of orders", "order"));
+        DefaultMessageStore.Page second = store.search(context, "order", first.nextCursor, 2);
+
+        assertEquals(Arrays.asList("a", "c"), ids(first.messages));
+        assertEquals(Collections.singletonList("b"), ids(second.messages));
+        assertNull(second.nextCursor);
+        assertEquals("e", store.search(context, "order", null, 1).messages.get(0).getMessageId());
+    }
+
+    @Test
+    public void searchesConfiguredCustomPayloadFields() throws JSONException {
+        store.save(context, message("a", 100, 0, "Title", "Body", new JSONObject().put("orderId", "ORD-42").put("note", "zebra")));
+        assertTrue(store.search(context, "ord 42", null, 10).messages.isEmpty());
+
+        DefaultMessageStore.configureSearch(Collections.singletonList("orderId"));
+
+        assertEquals(Collections.singletonList("a"), ids(store.search(context, "ord 42", null, 10).messages));
+        assertTrue(store.search(context, "zebra", null, 10).messages.isEmpty());
+    }
+
+    @Test
+    public void searchFoldsCaseOfAllScriptsAndLatinDiacritics() throws JSONException {
+        // Croatian title with a capital C with caron, Greek body with accents
+        store.save(context, message("a", 100, "\u010Cokolada", "\u0394\u03B5\u03BB\u03C4\u03AF\u03BF \u03C4\u03CD\u03C0\u03BF\u03C5"));
+
+        // Lower case, without the caron, Greek in upper case
+        assertEquals(Collections.singletonList("a"), ids(store.search(context, "\u010Dokolada", null, 10).messages));
+        assertEquals(Collections.singletonList("a"), ids(store.search(context, "COKO", null, 10).messages));
+        assertEquals(Collections.singletonList("a"), ids(store.search(context, "\u0394\u0395\u039B\u03A4\u038A\u039F", null, 10).messages));
+    }
+
+    @Test
+    public void copiesMessagesOfSdkStoreWithoutRemovingThem() throws JSONException {
+        SQLiteMessageStore sdkStore = new SQLiteMessageStore();
+        sdkStore.save(context, message("a", 100, "Title", "Body"), message("b", 200, "Title", "Body"));
+
+        assertEquals(2, store.countAll(context));
+        assertNotNull(store.find(context, "b"));
+        assertEquals(2, sdkStore.countAll(context));
+    }
+
+    private static Message message(String messageId, long receivedTimestamp, String title, String body) throws JSONException {
+        return message(messageId, receivedTimestamp, 0, title, body, null);
+    }
+
+    /**
+     * Messages are built from the same JSON the JS message storage works with, without a sent timestamp
+     * they are ordered by the received one.
+     */
+    private static Message message(String messageId, long receivedTimestamp, long seenTimestamp, String title, String body,
+                                   JSONObject customPayload) throws JSONException {
+        JSONObject json = new JSONObject()
+                .put("messageId", messageId)
+                .put("title", title)
+                .put("body", body)
+                .put("receivedTimestamp", receivedTimestamp)
+                .put("seenDate", seenTimestamp)
+                .putOpt("customPayload", customPayload);
+        return MessageJson.resolveMessages(new JSONArray().put(json)).get(0);
+    }
+
+    private static List<String> ids(List<Message> messages) {
+        List<String> ids = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            ids.add(message.getMessageId());
+        }
+        return ids;
+    }
+}
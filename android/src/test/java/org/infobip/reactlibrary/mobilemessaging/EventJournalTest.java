@@ -0,0 +1,144 @@
+//
+//  EventJournalTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class EventJournalTest {
+    // Sizes of the file header and of the record header, which starts with the body length
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 9;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder();
+    }
+
+    @Test
+    public void replaysLiveEventsAfterReopening() throws JSONException {
+        EventJournal journal = open();
+        CacheManager.Event tap = event(1, "notificationTapped", "m1", "reply", "Sure");
+        tap.priority = CacheManager.Priority.HIGH;
+        journal.append(tap);
+        journal.append(event(2, "messageReceived", "m2"));
+
+        List<CacheManager.Event> replayed = replay(open());
+
+        assertEquals(2, replayed.size());
+        assertEquals("notificationTapped", replayed.get(0).type);
+        assertEquals(1, replayed.get(0).ordinal);
+        assertEquals("m1", replayed.get(0).json().getString("messageId"));
+        assertArrayEquals(new Object[]{"reply", "Sure"}, replayed.get(0).objects);
+        assertEquals("messageReceived", replayed.get(1).type);
+        assertEquals("m2", replayed.get(1).json().getString("messageId"));
+    }
+
+    @Test
+    public void skipsConsumedEvents() throws JSONException {
+        EventJournal journal = open();
+        journal.append(event(1, "messageReceived", "m1"));
+        journal.append(event(2, "messageReceived", "m2"));
+        journal.append(event(3, "messageReceived", "m3"));
+        journal.markConsumed(2);
+
+        List<CacheManager.Event> replayed = replay(open());
+
+        assertEquals(2, replayed.size());
+        assertEquals(1, replayed.get(0).ordinal);
+        assertEquals(3, replayed.get(1).ordinal);
+    }
+
+    @Test
+    public void truncatesAtCorruptedRecordAndKeepsAppending() throws JSONException, IOException {
+        EventJournal journal = open();
+        journal.append(event(1, "messageReceived", "m1"));
+        journal.append(event(2, "messageReceived", "m2"));
+        corruptSecondRecord();
+
+        EventJournal reopened = open();
+        List<CacheManager.Event> replayed = replay(reopened);
+        reopened.append(event(3, "messageReceived", "m3"));
+        List<CacheManager.Event> replayedAfterAppend = replay(open());
+
+        assertEquals(1, replayed.size());
+        assertEquals(1, replayed.get(0).ordinal);
+        assertEquals(2, replayedAfterAppend.size());
+        assertEquals(1, replayedAfterAppend.get(0).ordinal);
+        assertEquals(3, replayedAfterAppend.get(1).ordinal);
+    }
+
+    @Test
+    public void replaysNothingOnceAllEventsAreConsumedOrCleared() throws JSONException {
+        EventJournal journal = open();
+        journal.append(event(1, "messageReceived", "m1"));
+        journal.markConsumed(1);
+        assertTrue(replay(open()).isEmpty());
+
+        journal = open();
+        journal.append(event(2, "messageReceived", "m2"));
+        journal.clear();
+        assertTrue(replay(open()).isEmpty());
+    }
+
+    private EventJournal open() {
+        EventJournal journal = EventJournal.open(directory);
+        assertNotNull(journal);
+        return journal;
+    }
+
+    private static List<CacheManager.Event> replay(EventJournal journal) {
+        List<CacheManager.Event> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+        return replayed;
+    }
+
+    private static CacheManager.Event event(long ordinal, String type, String messageId, Object... objects) throws JSONException {
+        CacheManager.Event event = new CacheManager.Event(type, new JSONObject().put("messageId", messageId), objects);
+        event.ordinal = ordinal;
+        return event;
+    }
+
+    private void corruptSecondRecord() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, EventJournal.FILE_NAME), "rw")) {
+            file.seek(FILE_HEADER_SIZE);
+            int secondRecord = FILE_HEADER_SIZE + RECORD_HEADER_SIZE + file.readInt();
+            long body = secondRecord + RECORD_HEADER_SIZE;
+            file.seek(body);
+            int value = file.read();
+            file.seek(body);
+            file.write(value ^ 0xFF);
+        }
+    }
+}
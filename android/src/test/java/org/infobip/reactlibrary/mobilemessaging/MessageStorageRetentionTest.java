@@ -0,0 +1,93 @@
+//
+//  MessageStorageRetentionTest.java
+//  MobileMessagingReactNative
+//
+//  Copyright (c) 2016-2025 Infobip Limited
+//  Licensed under the Apache License, Version 2.0
+//
+
+package org.infobip.reactlibrary.mobilemessaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import org.infobip.mobile.messaging.Message;
+import org.infobip.mobile.messaging.plugins.MessageJson;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class MessageStorageRetentionTest {
+    private Context context;
+    private DefaultMessageStore store;
+
+    @Before
+    public void setUp() {
+        DefaultMessageStore.closeDatabase();
+        context = RuntimeEnvironment.getApplication();
+        store = new DefaultMessageStore();
+    }
+
+    @After
+    public void tearDown() {
+        MessageStorageRetention.configure(context, null);
+        DefaultMessageStore.closeDatabase();
+    }
+
+    @Test
+    public void runRemovesMessagesOverLimitInBatchesAndReportsThem() throws Exception {
+        JSONArray messages = new JSONArray();
+        for (int i = 0; i < 250; i++) {
+            messages.put(new JSONObject().put("messageId", "m" + i).put("receivedTimestamp", System.currentTimeMillis() + i));
+        }
+        List<Message> resolved = MessageJson.resolveMessages(messages);
+        store.save(context, resolved.toArray(new Message[0]));
+        long runs = MessageStorageRetention.getStats().getLong("runs");
+        Configuration.MessageStorageRetentionConfiguration configuration = new Configuration().new MessageStorageRetentionConfiguration();
+        configuration.maxMessages = 5;
+
+        MessageStorageRetention.configure(context, configuration);
+        // First run starts shortly after configuration, its batches run on the storage executor
+        ShadowLooper.idleMainLooper(10, TimeUnit.SECONDS);
+        JSONObject stats = awaitRun(runs + 1);
+
+        assertTrue(stats.getBoolean("enabled"));
+        assertEquals(245, stats.getInt("lastRunRemoved"));
+        assertEquals(5, store.countAll(context));
+        assertEquals("m245", store.findAll(context).get(0).getMessageId());
+    }
+
+    @Test
+    public void isDisabledWithoutLimits() throws JSONException {
+        MessageStorageRetention.configure(context, new Configuration().new MessageStorageRetentionConfiguration());
+
+        assertFalse(MessageStorageRetention.getStats().getBoolean("enabled"));
+    }
+
+    private static JSONObject awaitRun(long runs) throws JSONException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        JSONObject stats = MessageStorageRetention.getStats();
+        while (stats.getLong("runs") < runs && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            stats = MessageStorageRetention.getStats();
+        }
+        assertEquals(runs, stats.getLong("runs"));
+        return stats;
+    }
+}
@@ -37,6 +37,7 @@ class ReactNativeMobileMessaging: RCTEventEmitter  {
             EventName.messageStorage_save,
             EventName.messageStorage_find,
             EventName.messageStorage_findAll,
+            EventName.messageStorage_count,
             EventName.debugLoggerMessageReceived,
             EventName.inAppChat_availabilityUpdated,
             EventName.inAppChat_unreadMessageCounterUpdated,
@@ -471,6 +472,18 @@ class ReactNativeMobileMessaging: RCTEventEmitter  {
         }
     }
     
+    @objc(defaultMessageStorage_deleteMany:onSuccess:onError:)
+    func defaultMessageStorage_deleteMany(messageIds: [String], onSuccess: @escaping RCTResponseSenderBlock, onError: RCTResponseSenderBlock) {
+        guard let storage = MobileMessaging.defaultMessageStorage else {
+            onError([NSError(type: .DefaultStorageNotInitialized).reactNativeObject])
+            return
+        }
+        
+        storage.remove(withIds: messageIds) { _ in
+            onSuccess(nil)
+        }
+    }
+    
     @objc(defaultMessageStorage_deleteAll:onError:)
     func defaultMessageStorage_deleteAll(onSuccess: @escaping RCTResponseSenderBlock, onError: RCTResponseSenderBlock) {
         MobileMessaging.defaultMessageStorage?.removeAllMessages() { _ in
@@ -489,8 +502,13 @@ class ReactNativeMobileMessaging: RCTEventEmitter  {
         self.messageStorageAdapter?.findResult(messageDict: messageDict)
     }
     
-    @objc(messageStorage_provideFindAllResult:)
-    func messageStorage_provideFindAllResult(messages: [Any]?) {
+    @objc(messageStorage_provideFindAllResult:requestId:)
+    func messageStorage_provideFindAllResult(messages: [Any]?, requestId: NSString?) {
+        //not needed for iOS SDK
+    }
+    
+    @objc(messageStorage_provideCountResult:requestId:)
+    func messageStorage_provideCountResult(count: Double, requestId: NSString?) {
         //not needed for iOS SDK
     }
     
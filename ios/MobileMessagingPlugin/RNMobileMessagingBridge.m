@@ -38,9 +38,11 @@ RCT_EXTERN_METHOD(markMessagesSeen:(NSArray *)messageIds onSuccess:(RCTResponseS
 RCT_EXTERN_METHOD(defaultMessageStorage_find:(NSString *)messageId onSuccess:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
 RCT_EXTERN_METHOD(defaultMessageStorage_findAll:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
 RCT_EXTERN_METHOD(defaultMessageStorage_delete:(NSString *)messageId onSuccess:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
+RCT_EXTERN_METHOD(defaultMessageStorage_deleteMany:(NSArray *)messageIds onSuccess:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
 RCT_EXTERN_METHOD(defaultMessageStorage_deleteAll:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
 RCT_EXTERN_METHOD(messageStorage_provideFindResult:(NSDictionary *)message)
-RCT_EXTERN_METHOD(messageStorage_provideFindAllResult:(NSArray *)message)
+RCT_EXTERN_METHOD(messageStorage_provideFindAllResult:(NSArray *)message requestId:(NSString *)requestId)
+RCT_EXTERN_METHOD(messageStorage_provideCountResult:(double)count requestId:(NSString *)requestId)
 /*Events*/
 RCT_EXTERN_METHOD(submitEvent:(NSDictionary *)eventData onError:(RCTResponseSenderBlock)errorCallback)
 RCT_EXTERN_METHOD(submitEventImmediately:(NSDictionary *)eventData onSuccess:(RCTResponseSenderBlock)successCallback onError:(RCTResponseSenderBlock)errorCallback)
@@ -62,6 +62,72 @@ declare namespace MobileMessagingReactNative {
             notificationChannelId?: string;
             notificationChannelName?: string;
             notificationSound?: string;
+            /**
+             * Rules of the native cache, which keeps events until JS subscribes to them.
+             * Taps have high priority by default and are never evicted in favour of other events.
+             */
+            eventCache?: {
+                maxSize?: number; // 100 by default
+                maxBytes?: number; // estimated heap size of cached events, not limited by default
+                events?: Record<string, {
+                    priority?: 'low' | 'normal' | 'high';
+                    quota?: number; // max cached events of the type
+                    ttlSeconds?: number; // cached events older than that are dropped
+                    coalescing?: 'keepAll' | 'lastValueWins' | 'keepFirst';
+                }>;
+            };
+            /**
+             * Batching of events sent to JS. Buffered events are delivered in a single emit once per frame
+             * or once per `flushIntervalMillis`. Notification taps and `urgentEvents` are never delayed.
+             */
+            eventDispatch?: {
+                batching?: boolean; // false by default
+                flushIntervalMillis?: number; // flushed on every frame by default
+                urgentEvents?: string[];
+                queueCapacity?: number; // max events waiting for the JS thread, the queue is used only when set
+                blockTimeoutMillis?: number; // how long 'block' policy waits for room, 50 by default
+                // 'dropOldest' by default, 'block' never blocks the main thread
+                overflow?: Record<string, 'block' | 'dropOldest' | 'dropNewest' | 'coalesce'>;
+            };
+            /**
+             * Native mirror of the custom `messageStorage`, which serves native reads without calling JS.
+             * Enabled when set. Call `invalidateMessageStorageMirror` whenever the app changes its storage by itself.
+             */
+            messageStorageMirror?: {
+                maxMessages?: number; // not limited by default
+                maxBytes?: number; // estimated heap size of mirrored messages, not limited by default
+            };
+            /**
+             * Messages saved to the custom `messageStorage` within the window are merged into a single `save` call,
+             * a message saved more than once is passed only once, in its latest state.
+             */
+            messageStorageSaveBatching?: {
+                windowMillis?: number; // batching is disabled by default
+                maxBatchSize?: number; // batch is saved right away once it has that many messages, 100 by default
+            };
+            /**
+             * Custom payload fields searched by `defaultMessageStorage().search` along with titles and bodies.
+             */
+            messageSearch?: {
+                customPayloadFields?: string[];
+            };
+            /**
+             * Limits of the `defaultMessageStorage`. The oldest sent messages over the limits are removed in small batches
+             * in the background, shortly after `init` and then hourly.
+             */
+            messageStorageRetention?: {
+                maxMessages?: number;
+                maxAgeSeconds?: number;
+                maxBytes?: number; // size of stored messages, without indexes
+            };
+            /**
+             * Ids passed to `markMessagesSeen` within the window are reported to the backend in a single call,
+             * ids not reported yet are persisted and reported after the next `init`.
+             */
+            seenReporting?: {
+                debounceMillis?: number; // each call is reported right away by default
+                maxBatchSize?: number; // batch is reported right away once it has that many ids, 100 by default
+            };
         };
         privacySettings?: {
             userDataPersistingDisabled?: boolean;
@@ -182,6 +248,121 @@ declare namespace MobileMessagingReactNative {
         domain?: string;
     }
 
+    export interface EventTypeCacheStats {
+        enqueued: number;
+        replayed: number;
+        dropped: number;
+        expired: number;
+        coalesced: number;
+        highWaterMark: number;
+        size?: number;
+        averageTimeInCacheMillis: number;
+        maxTimeInCacheMillis: number;
+        replays: number;
+        lastReplayLatencyMillis: number;
+        maxReplayLatencyMillis: number;
+    }
+
+    export interface EventCacheStats {
+        size: number;
+        bytes: number; // 0 unless maxBytes is set
+        maxSize: number;
+        maxBytes: number;
+        highWaterMark: number;
+        events: Record<string, EventTypeCacheStats>;
+        dispatch: {
+            batching: boolean;
+            batches: number;
+            batchedEvents: number;
+            averageBatchSize: number;
+            maxBatchSize: number;
+            averageFlushLatencyMillis: number;
+            maxFlushLatencyMillis: number;
+            bypassedEvents: number;
+        };
+        outbound: {
+            enabled: boolean;
+            size: number;
+            capacity: number;
+            highWaterMark: number;
+            backpressureEvents: number;
+            blocked: number;
+            blockedMillis: number;
+            droppedOldest: number;
+            droppedNewest: number;
+            coalesced: number;
+            droppedStale: number;
+        };
+    }
+
+    export interface SeenReportStats {
+        debounceMillis: number;
+        maxBatchSize: number;
+        pending: number;
+        calls: number;
+        markedIds: number;
+        duplicates: number;
+        restoredIds: number;
+        flushes: number;
+        failedFlushes: number;
+        reportedIds: number;
+        averageFlushSize: number;
+        maxFlushSize: number;
+        averageFlushLatencyMillis: number;
+        maxFlushLatencyMillis: number;
+    }
+
+    export interface MessageStorageStats {
+        queueDepth: number;
+        queueCapacity: number;
+        queueHighWaterMark: number;
+        active: number;
+        submitted: number;
+        rejected: number;
+        completed: number;
+        reads: number;
+        writes: number;
+        averageWaitMillis: number;
+        maxWaitMillis: number;
+        averageRunMillis: number;
+        maxRunMillis: number;
+        mirror: {
+            enabled: boolean;
+            complete: boolean; // mirror holds the whole custom storage and serves native reads
+            size: number;
+            bytes: number;
+            maxMessages: number;
+            maxBytes: number;
+            hits: number;
+            misses: number;
+            evictions: number;
+            invalidations: number;
+        };
+        saveBatching: {
+            windowMillis: number;
+            maxBatchSize: number;
+            pending: number;
+            batches: number;
+            batchedMessages: number;
+            duplicates: number;
+            fullBatches: number;
+            averageBatchSize: number;
+            maxSentBatchSize: number;
+            averageFlushLatencyMillis: number;
+            maxFlushLatencyMillis: number;
+        };
+        retention: {
+            enabled: boolean;
+            running: boolean;
+            runs: number;
+            failedRuns: number; // runs left unfinished because storage was busy or failed
+            removed: number;
+            lastRunRemoved: number;
+            lastRunMillis: number;
+            lastRunFinishedAt: number;
+        };
+    }
+
     export interface ChatConfig {
         ios?: {
             shouldBePresentedModally: boolean;
@@ -189,13 +370,65 @@ declare namespace MobileMessagingReactNative {
     }
 
 
+    export interface MessagePageFilter {
+        // Sent timestamps in milliseconds, both inclusive
+        sentFrom?: number;
+        sentTo?: number;
+        seen?: boolean;
+        // Only messages having this key in their custom payload
+        customPayloadKey?: string;
+    }
+
+    export interface MessagePage {
+        messages: Message[];
+        nextCursor: string | null;
+    }
+
     export interface DefaultMessageStorage {
         find(messageId: string, onSuccess: (message: Message) => void, onError: () => void): void;
 
         findAll(onSuccess: (messages: Message[]) => void, onError: () => void): void;
 
+        /**
+         * Finds one page of stored messages, newest sent first. Only for Android.
+         *
+         * @param cursor `nextCursor` of the previous page, or null for the first page
+         * @param limit maximum number of messages in the page
+         * @param filter conditions messages of the page have to match, or null for all messages
+         * @param onSuccess will be called with the page, its `nextCursor` is null for the last page
+         */
+        findPage(cursor: string | null, limit: number, filter: MessagePageFilter | null,
+                 onSuccess: (page: MessagePage) => void, onError: (error: MobileMessagingError) => void): void;
+
+        /**
+         * Searches titles, bodies and `android.messageSearch.customPayloadFields` of stored messages,
+         * best matches first. Ranking and paging are done natively. Only for Android.
+         *
+         * @param query words to search for, each one matches words starting with it
+         * @param limit maximum number of messages in the page
+         * @param cursor `nextCursor` of the previous page, or null for the first page
+         * @param onSuccess will be called with the page, its `nextCursor` is null for the last page
+         */
+        search(query: string, limit: number, cursor: string | null,
+               onSuccess: (page: MessagePage) => void, onError: (error: MobileMessagingError) => void): void;
+
+        /**
+         * Counts stored messages without reading them, e.g. unseen ones with `{seen: false}`. Only for Android.
+         *
+         * @param filter conditions counted messages have to match, or null to count all messages
+         * @param onSuccess will be called with the count
+         */
+        count(filter: MessagePageFilter | null, onSuccess: (count: number) => void, onError: (error: MobileMessagingError) => void): void;
+
         delete(messageId: string, onSuccess: () => void, onError: () => void): void;
 
+        /**
+         * Deletes messages with the given ids at once.
+         *
+         * @param messageIds identifiers of messages to delete
+         */
+        deleteMany(messageIds: string[], onSuccess: () => void, onError: () => void): void;
+
         deleteAll(onSuccess: () => void, onError: () => void): void;
     }
 
@@ -221,6 +454,13 @@ declare namespace MobileMessagingReactNative {
          */
         findAll(callback: (messages: Message[]) => void): void;
 
+        /**
+         * Will be called by the plugin to count messages in the storage. Optional, messages found by `findAll` are counted without it.
+         *
+         * @param callback has to be called on completion with one parameter - number of messages in the storage
+         */
+        count?(callback: (count: number) => void): void;
+
         /**
          * Will be called by the plugin when its time to initialize the storage
          */
@@ -684,6 +924,40 @@ declare namespace MobileMessagingReactNative {
          */
         registerForAndroidRemoteNotifications(): void;
 
+        /**
+         * This method is Android only and it has no effect in iOS.
+         * Gets counters of the native cache, which keeps events received while there are no JS listeners for them.
+         *
+         * @param onSuccess will be called with cache stats
+         * @param onError will be called on error
+         */
+        getEventCacheStats(onSuccess: (stats: EventCacheStats) => void, onError?: (error: MobileMessagingError) => void): void;
+
+        /**
+         * This method is Android only and it has no effect in iOS.
+         * Gets counters of the default message storage, whose calls run on background threads.
+         *
+         * @param onSuccess will be called with storage stats
+         * @param onError will be called on error
+         */
+        getMessageStorageStats(onSuccess: (stats: MessageStorageStats) => void, onError?: (error: MobileMessagingError) => void): void;
+
+        /**
+         * This method is Android only and it has no effect in iOS.
+         * Gets counters of the aggregator, which reports ids passed to `markMessagesSeen` in batches.
+         *
+         * @param onSuccess will be called with seen report stats
+         * @param onError will be called on error
+         */
+        getSeenReportStats(onSuccess: (stats: SeenReportStats) => void, onError?: (error: MobileMessagingError) => void): void;
+
+        /**
+         * This method is Android only and it has no effect in iOS.
+         * Drops the native mirror of the custom message storage, so that native side reads messages from it again.
+         * Has to be called whenever the app changes its custom message storage by itself, e.g. deletes messages.
+         */
+        invalidateMessageStorageMirror(): void;
+
         /**
          * This method is iOS only and it has no effect in Android.
          * Used to reset the In-app chat connection. The correct usage is to call it after stopConnection, when we want the messages to reappear, and push
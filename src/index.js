@@ -39,7 +39,8 @@ class MobileMessaging {
             'messageStorage.stop',
             'messageStorage.save',
             'messageStorage.find',
-            'messageStorage.findAll'
+            'messageStorage.findAll',
+            'messageStorage.count'
         ];
         this.inAppChatEvents = [
             'inAppChat.availabilityUpdated',
@@ -49,6 +50,19 @@ class MobileMessaging {
             'inAppChat.livechatRegistrationIdUpdated'
         ];
         this.eventEmitter = new NativeEventEmitter(ReactNativeMobileMessaging);
+
+        if (Platform.OS === "android") {
+            // Native side may deliver several events in a single emit, re-emit them one by one
+            // so that subscribers receive exactly the same payloads as for separately sent events.
+            this.eventEmitter.addListener('internal.eventsBatch', (batch) => {
+                if (!Array.isArray(batch)) {
+                    return;
+                }
+                batch.forEach(([eventName, payload]) => {
+                    this.eventEmitter.emit(eventName, payload);
+                });
+            });
+        }
     }
 
     /**
@@ -163,7 +177,29 @@ class MobileMessaging {
      *			firebaseOptions: <Object>,
      *          notificationChannelId: <String>,
  *              notificationChannelName: <String>,
- *              notificationSound: <String>
+ *              notificationSound: <String>,
+     *          eventCache: {
+     *              maxSize: <Number>,
+     *              maxBytes: <Number>,
+     *              events: {
+     *                  <eventType>: {
+     *                      priority: <String>, // 'low', 'normal' or 'high'
+     *                      quota: <Number>,
+     *                      ttlSeconds: <Number>,
+     *                      coalescing: <String> // 'keepAll', 'lastValueWins' or 'keepFirst'
+     *                  }
+     *              }
+     *          },
+     *          eventDispatch: {
+     *              batching: <Boolean>,
+     *              flushIntervalMillis: <Number>,
+     *              urgentEvents: [<String>],
+     *              queueCapacity: <Number>, // bounded outbound queue is used only when set
+     *              blockTimeoutMillis: <Number>,
+     *              overflow: {
+     *                  <eventType>: <String> // 'block', 'dropOldest', 'dropNewest' or 'coalesce'
+     *              }
+     *          }
      *	    }
      *		privacySettings: {
      *			userDataPersistingDisabled: <Boolean>,
@@ -250,11 +286,22 @@ class MobileMessaging {
                 });
             });
 
-            this.eventEmitter.addListener('messageStorage.findAll', () => {
+            this.eventEmitter.addListener('messageStorage.findAll', request => {
                 messageStorage.findAll((messages) => {
-                    ReactNativeMobileMessaging.messageStorage_provideFindAllResult(messages);
+                    ReactNativeMobileMessaging.messageStorage_provideFindAllResult(messages, request.requestId);
                 });
             });
+
+            this.eventEmitter.addListener('messageStorage.count', request => {
+                let provideCount = (count) => {
+                    ReactNativeMobileMessaging.messageStorage_provideCountResult(count, request.requestId);
+                };
+                if (typeof messageStorage.count === 'function') {
+                    messageStorage.count(provideCount);
+                } else {
+                    messageStorage.findAll((messages) => provideCount(messages ? messages.length : 0));
+                }
+            });
         }
 
         config.reactNativePluginVersion = require('../package').version;
@@ -524,10 +571,35 @@ class MobileMessaging {
                 ReactNativeMobileMessaging.defaultMessageStorage_findAll(onSuccess, onError);
             },
 
+            findPage (cursor, limit, filter, onSuccess, onError = function() {}) {
+                if (Platform.OS === "ios") {
+                    return;
+                }
+                ReactNativeMobileMessaging.defaultMessageStorage_findPage(cursor, limit, filter, onSuccess, onError);
+            },
+
+            search (query, limit, cursor, onSuccess, onError = function() {}) {
+                if (Platform.OS === "ios") {
+                    return;
+                }
+                ReactNativeMobileMessaging.defaultMessageStorage_search(query, limit, cursor, onSuccess, onError);
+            },
+
+            count (filter, onSuccess, onError = function() {}) {
+                if (Platform.OS === "ios") {
+                    return;
+                }
+                ReactNativeMobileMessaging.defaultMessageStorage_count(filter, onSuccess, onError);
+            },
+
             delete (messageId, onSuccess = function() {}, onError = function() {}) {
                 ReactNativeMobileMessaging.defaultMessageStorage_delete(messageId, onSuccess, onError);
             },
 
+            deleteMany (messageIds, onSuccess = function() {}, onError = function() {}) {
+                ReactNativeMobileMessaging.defaultMessageStorage_deleteMany(messageIds, onSuccess, onError);
+            },
+
             deleteAll (onSuccess = function() {}, onError = function() {}) {
                 ReactNativeMobileMessaging.defaultMessageStorage_deleteAll(onSuccess, onError);
             },
@@ -824,6 +896,65 @@ class MobileMessaging {
         ReactNativeMobileMessaging.registerForAndroidRemoteNotifications();
     };
 
+    /**
+     * This method is Android only and it has no effect in iOS.
+     * Gets counters of the native cache, which keeps events received while there are no JS listeners for them.
+     *
+     * @name getEventCacheStats
+     * @param {Function} onSuccess will be called with cache stats
+     * @param {Function} onError will be called on error
+     */
+    getEventCacheStats(onSuccess = function() {}, onError = function() {}) {
+        if (Platform.OS === "ios") {
+            return;
+        }
+        ReactNativeMobileMessaging.getEventCacheStats(onSuccess, onError);
+    };
+
+    /**
+     * This method is Android only and it has no effect in iOS.
+     * Gets counters of the default message storage, whose calls run on background threads.
+     *
+     * @name getMessageStorageStats
+     * @param {Function} onSuccess will be called with storage stats
+     * @param {Function} onError will be called on error
+     */
+    getMessageStorageStats(onSuccess = function() {}, onError = function() {}) {
+        if (Platform.OS === "ios") {
+            return;
+        }
+        ReactNativeMobileMessaging.getMessageStorageStats(onSuccess, onError);
+    };
+
+    /**
+     * This method is Android only and it has no effect in iOS.
+     * Gets counters of the aggregator, which reports ids passed to `markMessagesSeen` in batches.
+     *
+     * @name getSeenReportStats
+     * @param {Function} onSuccess will be called with seen report stats
+     * @param {Function} onError will be called on error
+     */
+    getSeenReportStats(onSuccess = function() {}, onError = function() {}) {
+        if (Platform.OS === "ios") {
+            return;
+        }
+        ReactNativeMobileMessaging.getSeenReportStats(onSuccess, onError);
+    };
+
+    /**
+     * This method is Android only and it has no effect in iOS.
+     * Drops the native mirror of the custom message storage, so that native side reads messages from it again.
+     * Has to be called whenever the app changes its custom message storage by itself, e.g. deletes messages.
+     *
+     * @name invalidateMessageStorageMirror
+     */
+    invalidateMessageStorageMirror() {
+        if (Platform.OS === "ios") {
+            return;
+        }
+        ReactNativeMobileMessaging.invalidateMessageStorageMirror();
+    };
+
     /**
      * This method is iOS only and it has no effect in Android.
      * Used to reset the In-app chat connection. The correct usage is to call it after stopConnection, when we want the messages to reappear, and push
@@ -15,7 +15,11 @@ export interface Spec extends TurboModule {
     // Message storage
     defaultMessageStorage_find(messageId: string, onSuccess: (message?: Object) => void, onError: (error: Object) => void): void;
     defaultMessageStorage_findAll(onSuccess: (messages: Array<Object>) => void, onError: (error: Object) => void): void;
+    defaultMessageStorage_findPage(cursor: string | null, limit: number, filter: Object | null, onSuccess: (page: Object) => void, onError: (error: Object) => void): void;
+    defaultMessageStorage_search(query: string, limit: number, cursor: string | null, onSuccess: (page: Object) => void, onError: (error: Object) => void): void;
+    defaultMessageStorage_count(filter: Object | null, onSuccess: (count: number) => void, onError: (error: Object) => void): void;
     defaultMessageStorage_delete(messageId: string, onSuccess: () => void, onError: (error: Object) => void): void;
+    defaultMessageStorage_deleteMany(messageIds: Array<string>, onSuccess: () => void, onError: (error: Object) => void): void;
     defaultMessageStorage_deleteAll(onSuccess: () => void, onError: (error: Object) => void): void;
 
     // Inbox
@@ -45,6 +49,12 @@ export interface Spec extends TurboModule {
     // Remote notifications
     registerForAndroidRemoteNotifications(): void;
 
+    // Native event cache (Android only)
+    getEventCacheStats(onSuccess: (stats: Object) => void, onError: (error: Object) => void): void;
+    getMessageStorageStats(onSuccess: (stats: Object) => void, onError: (error: Object) => void): void;
+    getSeenReportStats(onSuccess: (stats: Object) => void, onError: (error: Object) => void): void;
+    invalidateMessageStorageMirror(): void;
+
     // Dialog for error
     showDialogForError(errorCode: number, onSuccess: () => void, onError: (error: Object) => void): void;
 
@@ -59,7 +69,8 @@ export interface Spec extends TurboModule {
     setUserDataJwt(jwt: string, onSuccess: () => void, onError: (error: Object) => void): void;
 
     // For custom message storage (calls from JS to native)
-    messageStorage_provideFindAllResult(messages: Array<Object>): void;
+    messageStorage_provideFindAllResult(messages: Array<Object>, requestId: string): void;
+    messageStorage_provideCountResult(count: number, requestId: string): void;
     messageStorage_provideFindResult(message: Object): void;
 
     // Event system (required for React Native EventEmitter)